@@ -3,12 +3,13 @@ package com.sentinova.backend.controller;
 import com.sentinova.backend.model.Article;
 import com.sentinova.backend.model.Sentiment;
 import com.sentinova.backend.repository.ArticleRepository;
-import com.sentinova.backend.repository.SentimentRepository;
+import com.sentinova.backend.service.SentimentNotReadyException;
 import com.sentinova.backend.service.SentimentService;
+import com.sentinova.backend.service.SentimentWriter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.OffsetDateTime;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,26 +17,26 @@ import java.util.UUID;
 /**
  * One-off analyzer endpoint: POST /api/articles/{id}/analyze
  * - runs SentimentService on the article's title + content
- * - upserts (updates latest or inserts new) a row in sentiments
+ * - records the result via SentimentWriter (inserts a row only if label/score changed)
  * - returns the saved sentiment as JSON { "label": "...", "score": 0.x }
+ * - while the models are still loading: 503 with Retry-After (nothing is written)
  *
- * Safe: it only writes a single sentiment row (or updates the existing latest),
- * non-destructive to other data.
+ * Safe: it writes at most a single sentiment row, non-destructive to other data.
  */
 @RestController
 @RequestMapping("/api/articles")
 public class ArticleAnalyzeController {
 
     private final ArticleRepository articleRepository;
-    private final SentimentRepository sentimentRepository;
     private final SentimentService sentimentService;
+    private final SentimentWriter sentimentWriter;
 
     public ArticleAnalyzeController(ArticleRepository articleRepository,
-                                    SentimentRepository sentimentRepository,
-                                    SentimentService sentimentService) {
+                                    SentimentService sentimentService,
+                                    SentimentWriter sentimentWriter) {
         this.articleRepository = articleRepository;
-        this.sentimentRepository = sentimentRepository;
         this.sentimentService = sentimentService;
+        this.sentimentWriter = sentimentWriter;
     }
 
     /**
@@ -51,13 +52,16 @@ public class ArticleAnalyzeController {
         Article article = aOpt.get();
 
         // build text to analyze
-        String textToAnalyze = (article.getTitle() == null ? "" : article.getTitle()) + ". "
-                + (article.getContent() == null ? "" : article.getContent());
+        String textToAnalyze = SentimentService.textOf(article);
 
         // run sentiment analysis
         SentimentService.SentimentResult sr;
         try {
             sr = sentimentService.analyzeText(textToAnalyze);
+        } catch (SentimentNotReadyException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body(Map.of("error", "sentiment analysis failed", "details", e.getMessage()));
@@ -67,26 +71,9 @@ public class ArticleAnalyzeController {
             return ResponseEntity.status(500).body(Map.of("error", "sentiment service returned null"));
         }
 
-        // upsert: update latest sentiment for this article if exists, otherwise insert
+        // idempotent write: insert only if label/score differ from the article's latest sentiment
         try {
-            Optional<Sentiment> existingOpt = sentimentRepository.findTopByArticleOrderByCreatedAtDesc(article);
-
-            Sentiment saved;
-            if (existingOpt.isPresent()) {
-                Sentiment s = existingOpt.get();
-                s.setLabel(sr.getLabel());           // DB column name: label
-                s.setScore(sr.getScore());           // DB column name: score
-                s.setCreatedAt(OffsetDateTime.now());
-                saved = sentimentRepository.save(s);
-            } else {
-                Sentiment s = new Sentiment();
-                s.setId(UUID.randomUUID());
-                s.setArticle(article);
-                s.setLabel(sr.getLabel());
-                s.setScore(sr.getScore());
-                s.setCreatedAt(OffsetDateTime.now());
-                saved = sentimentRepository.save(s);
-            }
+            Sentiment saved = sentimentWriter.record(article, sr.getLabel(), sr.getScore(), sr.isDegraded());
 
             return ResponseEntity.ok(Map.of(
                     "label", saved.getLabel(),
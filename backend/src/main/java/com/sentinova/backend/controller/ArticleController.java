@@ -1,27 +1,53 @@
 package com.sentinova.backend.controller;
 
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
 import com.sentinova.backend.model.Sentiment;
 import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.ArticleChangeFeed;
+import com.sentinova.backend.service.ArticleFeedService;
+import com.sentinova.backend.service.FeedResponseCache;
+import com.sentinova.backend.service.FeedVersion;
+import com.sentinova.backend.service.RecentArticlesFeed;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.*;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true",
+        exposedHeaders = {ArticleController.NEXT_CURSOR_HEADER, ArticleController.SHUFFLE_SEED_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/articles")
 public class ArticleController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String SHUFFLE_SEED_HEADER = "X-Shuffle-Seed";
+
     private final ArticleRepository articleRepository;
+    private final ArticleFeedService articleFeedService;
+    private final RecentArticlesFeed recentFeed;
+    private final FeedVersion feedVersion;
+    private final FeedResponseCache responseCache;
+    private final ArticleChangeFeed changeFeed;
 
-    public ArticleController(ArticleRepository articleRepository) {
+    public ArticleController(ArticleRepository articleRepository, ArticleFeedService articleFeedService,
+                             RecentArticlesFeed recentFeed, FeedVersion feedVersion, FeedResponseCache responseCache,
+                             ArticleChangeFeed changeFeed) {
         this.articleRepository = articleRepository;
+        this.articleFeedService = articleFeedService;
+        this.recentFeed = recentFeed;
+        this.feedVersion = feedVersion;
+        this.responseCache = responseCache;
+        this.changeFeed = changeFeed;
     }
 
     // Health check
@@ -32,107 +58,238 @@ public class ArticleController {
 
     // Fetch article + sentiments
     @GetMapping("/{id}/with-sentiments")
-    public ResponseEntity<?> getArticleWithSentiments(@PathVariable UUID id) {
+    public ResponseEntity<?> getArticleWithSentiments(@PathVariable UUID id, WebRequest request) {
+        if (notModified(request)) return null; // 304 without touching the DB
+
         Optional<Article> articleOpt = articleRepository.findWithSentimentsById(id);
 
         if (articleOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        // Will include imageUrl and sentiments automatically in JSON response
-        return ResponseEntity.ok(articleOpt.get());
+        // the article JSON (imageUrl, latest sentiment columns) plus its full sentiment history
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ArticleWithSentiments(articleOpt.get()));
     }
 
     /**
-     * List all articles.
+     * Article fields at the top level plus "sentiments" (the history is not part of the plain Article JSON).
+     */
+    public static class ArticleWithSentiments {
+        private final Article article;
+
+        public ArticleWithSentiments(Article article) {
+            this.article = article;
+        }
+
+        @JsonUnwrapped
+        public Article getArticle() { return article; }
+        public List<Sentiment> getSentiments() { return article.getSentiments(); }
+    }
+
+    /**
+     * List articles, newest first, one keyset page at a time.
      *
      * Query params:
-     *  - shuffle=true|false  (optional, default=false) : shuffle the result order
+     *  - limit (optional, default articles.page.default-size, capped at articles.page.max-size)
+     *  - cursor (optional) : opaque token from the previous page's X-Next-Cursor header
+     *  - sort=fetched|published (optional, default=fetched) : fetchedAt or publishedAt, then id (nulls last)
      *  - sentiment=All|Positive|Neutral|Negative (optional, default=All) : filter by latest sentiment
+     *  - source, category (optional) : exact, case-insensitive match
+     *  - seed (optional) : seeded shuffle, a stable pseudo-random order across all pages (1-64 of [A-Za-z0-9_-]);
+     *    sort is ignored. Same seed + same cursor = same page, so seeded pages are cacheable like ordinary ones
+     *  - shuffle=true|false  (optional, default=false) : seeded shuffle with a fresh seed (returned in X-Shuffle-Seed;
+     *    pass it as seed= with the cursor for the next page)
+     *  - fields=full|card (optional, default=full) : card = ArticleCard projection without the content body
      *
-     * Example: GET /api/articles?shuffle=true&sentiment=All
+     * The body is the page's articles; X-Next-Cursor is present when there is a further page.
+     *
+     * Example: GET /api/articles?limit=50&sentiment=Positive, then GET /api/articles?limit=50&sentiment=Positive&cursor=...
      */
     @GetMapping
-    public ResponseEntity<List<Article>> getAllArticles(
+    public ResponseEntity<?> getAllArticles(
             @RequestParam(name = "shuffle", required = false, defaultValue = "false") boolean shuffle,
-            @RequestParam(name = "sentiment", required = false, defaultValue = "All") String sentiment) {
-
-        List<Article> all = articleRepository.findAll();
-
-        // apply sentiment filter if requested
-        if (sentiment != null && !"All".equalsIgnoreCase(sentiment.trim())) {
-            String wanted = sentiment.trim();
-            all = all.stream()
-                    .filter(a -> {
-                        String latest = latestSentimentLabel(a);
-                        return latest != null && latest.equalsIgnoreCase(wanted);
-                    })
-                    .collect(Collectors.toList());
-        }
+            @RequestParam(name = "sentiment", required = false, defaultValue = "All") String sentiment,
+            @RequestParam(name = "source", required = false) String source,
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestParam(name = "seed", required = false) String seed,
+            WebRequest request) {
 
-        if (shuffle) {
-            Collections.shuffle(all, new Random());
+        // a generated seed makes a new order per request; an explicit seed is as stable (and cacheable) as sort=
+        String shuffleSeed = seed != null ? seed : shuffle ? ArticleFeedService.newSeed() : null;
+        if ((seed != null || !shuffle) && notModified(request)) return null;
+
+        ArticleFeedService.Page page;
+        try {
+            ArticleFeedService.Fields shape = ArticleFeedService.Fields.parse(fields);
+            page = shuffleSeed != null
+                    ? articleFeedService.listShuffled(shape, shuffleSeed, sentiment, source, category, cursor, limit)
+                    : articleFeedService.list(ArticleFeedService.SortKey.parse(sort), shape, sentiment, source, category, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
 
-        return ResponseEntity.ok(all);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (page.getNextCursor() != null) ok.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        if (shuffleSeed != null) ok.header(SHUFFLE_SEED_HEADER, shuffleSeed);
+        return ok.body(page.getItems());
     }
 
     /**
-     * List recent N articles (by fetchedAt desc). If fetchedAt is null it will appear last.
-     * Supports shuffle and sentiment filter via query params.
+     * Delta sync: articles inserted/changed (as ArticleCards) and sentiments recorded since cursor.
+     *
+     * Query params:
+     *  - cursor (optional) : the "cursor" of the previous answer; omitted = start from now (empty answer + cursor)
+     *  - limit (optional, default articles.changes.default-limit) : max articles and max sentiments per answer
+     *  - wait (optional, seconds, default 0) : long-poll; an empty answer is held until something changes or the
+     *    wait (capped at articles.changes.max-wait-ms) elapses
      *
-     * Example: GET /api/articles/recent/20?shuffle=true&sentiment=All
+     * Body: { "articles": [...], "sentiments": [...], "cursor": "...", "hasMore": false }; call again with the
+     * cursor (immediately when hasMore).
+     *
+     * Example: GET /api/articles/changes?cursor=...&wait=25
+     */
+    @GetMapping("/changes")
+    public DeferredResult<ResponseEntity<?>> getChanges(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "wait", required = false, defaultValue = "0") long waitSeconds) {
+
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>();
+        try {
+            CompletableFuture<ArticleChangeFeed.Changes> changes = changeFeed.await(cursor, limit, TimeUnit.SECONDS.toMillis(waitSeconds));
+            changes.whenComplete((c, error) -> result.setResult(error == null
+                    ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(c)
+                    : ResponseEntity.internalServerError().body(Map.of("error", "change feed failed"))));
+            // client went away: stop waiting for it
+            result.onCompletion(() -> changes.cancel(false));
+        } catch (IllegalArgumentException e) {
+            result.setResult(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
+        }
+        return result;
+    }
+
+    /**
+     * List recent N articles (by fetchedAt desc, id desc). If fetchedAt is null it will appear last.
+     * Supports shuffle and sentiment filter via query params; the sentiment filter applies before the limit,
+     * so up to N matching articles are returned. N is capped at articles.page.max-size.
+     * seed= orders the N articles by the seed's permutation (same order as GET /api/articles?seed=); shuffle=true
+     * without a seed picks one and returns it in X-Shuffle-Seed. Only seedless shuffles bypass ETags and the cache.
+     * fields=card returns ArticleCard projections (no content body); default is the full article.
+     * Responses are stored pre-serialized and pre-gzipped per shape (FeedResponseCache) until the feed
+     * version moves. Served from memory (RecentArticlesFeed) unless articles.hot-feed.enabled=false or the hot set is too small.
+     *
+     * Example: GET /api/articles/recent/20?seed=k3x9&sentiment=All
      */
     @GetMapping("/recent/{count}")
-    public ResponseEntity<List<Article>> getRecentArticles(
+    public ResponseEntity<?> getRecentArticles(
             @PathVariable int count,
             @RequestParam(name = "shuffle", required = false, defaultValue = "false") boolean shuffle,
-            @RequestParam(name = "sentiment", required = false, defaultValue = "All") String sentiment) {
+            @RequestParam(name = "sentiment", required = false, defaultValue = "All") String sentiment,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestParam(name = "seed", required = false) String seed,
+            WebRequest request) {
 
         if (count <= 0) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
+        ArticleFeedService.Fields shape;
+        String shuffleSeed;
+        try {
+            shape = ArticleFeedService.Fields.parse(fields);
+            shuffleSeed = seed != null ? ArticleFeedService.checkSeed(seed) : shuffle ? ArticleFeedService.newSeed() : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        int limit = Math.min(count, articleFeedService.getMaxPageSize());
+        String label = sentiment != null && !"All".equalsIgnoreCase(sentiment.trim())
+                ? ArticleFeedService.canonicalSentiment(sentiment) : null;
+
+        if (seed == null && shuffle) {
+            // fresh order per request: nothing to revalidate or share
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).header(SHUFFLE_SEED_HEADER, shuffleSeed)
+                    .body(loadRecent(limit, label, shape, shuffleSeed));
+        }
+
+        if (!responseCache.isEnabled()) {
+            // nothing changed since the client's copy: 304 before the hot feed or the DB is consulted
+            if (notModified(request, null)) return null;
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(loadRecent(limit, label, shape, shuffleSeed));
+        }
+
+        // pre-serialized bytes (gzip variant when accepted): no Jackson, no compression per request
+        boolean gzip = acceptsGzip(request);
+        if (notModified(request, gzip ? "gz" : null)) return null;
+        FeedResponseCache.Entry entry = responseCache.get(limit + "|" + label + "|" + shape + "|" + shuffleSeed,
+                () -> loadRecent(limit, label, shape, shuffleSeed), gzip);
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.getGzip());
+        }
+        return ok.body(entry.getJson());
+    }
+
+    // the recent list, reordered by the seed's permutation when there is one
+    private List<?> loadRecent(int limit, String label, ArticleFeedService.Fields shape, String seed) {
+        List<?> recent = loadRecent(limit, label, shape);
+        return seed != null ? ArticleFeedService.shuffled(recent, ArticleController::idOf, seed) : recent;
+    }
+
+    private static UUID idOf(Object item) {
+        if (item instanceof Article a) return a.getId();
+        if (item instanceof ArticleCard c) return c.id();
+        if (item instanceof RecentArticlesFeed.FeedArticle f) return f.id();
+        throw new IllegalArgumentException("not an article: " + item.getClass());
+    }
 
-        List<Article> recent = articleRepository.findAll()
-            .stream()
-            .sorted(Comparator.comparing(
-                Article::getFetchedAt,
-                Comparator.nullsLast(Comparator.reverseOrder())
-            ))
-            .limit(count)
-            .collect(Collectors.toList());
-
-        // apply sentiment filter if requested
-        if (sentiment != null && !"All".equalsIgnoreCase(sentiment.trim())) {
-            String wanted = sentiment.trim();
-            recent = recent.stream()
-                    .filter(a -> {
-                        String latest = latestSentimentLabel(a);
-                        return latest != null && latest.equalsIgnoreCase(wanted);
-                    })
-                    .collect(Collectors.toList());
+    // served from the in-memory hot feed when it can answer, else one indexed query
+    private List<?> loadRecent(int limit, String label, ArticleFeedService.Fields shape) {
+        List<RecentArticlesFeed.FeedArticle> hot = recentFeed.recent(limit, label);
+        if (hot != null) {
+            return shape == ArticleFeedService.Fields.CARD ? hot.stream().map(RecentArticlesFeed.FeedArticle::toCard).toList() : hot;
         }
+        if (shape == ArticleFeedService.Fields.CARD) {
+            return label != null
+                    ? articleRepository.findRecentCardsByLatestLabel(label, PageRequest.of(0, limit))
+                    : articleRepository.findRecentCards(PageRequest.of(0, limit));
+        }
+        return label != null
+                ? articleRepository.findRecentByLatestLabel(label, limit)
+                : articleRepository.findRecent(limit);
+    }
 
-        if (shuffle) {
-            Collections.shuffle(recent, new Random());
+    // Accept-Encoding lists gzip without refusing it ("gzip;q=0")
+    private static boolean acceptsGzip(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null) return false;
+        for (String coding : accept.toLowerCase(Locale.ROOT).replace(" ", "").split(",")) {
+            if (coding.equals("gzip")) return true;
+            if (coding.startsWith("gzip;")) return !coding.matches("gzip;q=0(\\.0*)?");
         }
+        return false;
+    }
 
-        return ResponseEntity.ok(recent);
+    /**
+     * Conditional GET against the feed version: sets the ETag on the response and returns true (status already
+     * 304) when the client's If-None-Match is current. ETag is the only validator: the version can move several
+     * times within one second, which Last-Modified / If-Modified-Since cannot tell apart. Shuffled responses skip
+     * this because their bytes differ per request.
+     */
+    private boolean notModified(WebRequest request) {
+        return notModified(request, null);
     }
 
-    // -------------------------
-    // Helper: get the latest sentiment label for an article (if any)
-    // -------------------------
-    private String latestSentimentLabel(Article article) {
-        if (article == null) return null;
-        List<Sentiment> list = article.getSentiments();
-        if (list == null || list.isEmpty()) return null;
-
-        // find latest by createdAt
-        return list.stream()
-                .filter(Objects::nonNull)
-                .max(Comparator.comparing(Sentiment::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
-                .map(Sentiment::getLabel)
-                .orElse(null);
+    // variant: encoding-specific tag suffix ("gz") when the body bytes differ by Accept-Encoding
+    private boolean notModified(WebRequest request, String variant) {
+        String etag = variant == null ? feedVersion.etag() : feedVersion.etag(variant);
+        return request.checkNotModified(etag);
     }
 }
@@ -0,0 +1,49 @@
+package com.sentinova.backend.controller;
+
+import com.sentinova.backend.service.ArticleStreamHub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true")
+@RestController
+@RequestMapping("/api/articles")
+public class ArticleStreamController {
+
+    private final ArticleStreamHub streamHub;
+
+    @Value("${articles.stream.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    public ArticleStreamController(ArticleStreamHub streamHub) {
+        this.streamHub = streamHub;
+    }
+
+    /**
+     * Server-sent events for new/changed articles ("article", ArticleCard JSON) and latest-sentiment changes
+     * ("sentiment"). A reconnect with Last-Event-ID (header, or ?lastEventId= for clients that cannot set it)
+     * replays missed events; "reset" means the gap is too old and the client should refetch /recent.
+     *
+     * Example: new EventSource("/api/articles/stream")
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<String>>> stream(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam) {
+
+        if (streamHub.isFull()) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds)).build();
+        }
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no") // nginx: do not buffer the stream
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(streamHub.subscribe(lastEventId));
+    }
+}
@@ -0,0 +1,45 @@
+package com.sentinova.backend.controller;
+
+import com.sentinova.backend.service.SentimentBackfillService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Control endpoints for the sentiment re-score backfill:
+ * - POST /api/admin/backfill/sentiments/start[?restart=true]  start or resume (restart = from the first article)
+ * - POST /api/admin/backfill/sentiments/pause                  stop after the current chunk (resumable)
+ * - GET  /api/admin/backfill/sentiments/status                 state, progress, throughput
+ */
+@RestController
+@RequestMapping("/api/admin/backfill/sentiments")
+public class SentimentBackfillController {
+
+    private final SentimentBackfillService backfillService;
+
+    public SentimentBackfillController(SentimentBackfillService backfillService) {
+        this.backfillService = backfillService;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(defaultValue = "false") boolean restart) {
+        if (!backfillService.start(restart)) {
+            return ResponseEntity.status(409).body(Map.of("error", "backfill already running"));
+        }
+        return ResponseEntity.accepted().body(backfillService.status());
+    }
+
+    @PostMapping("/pause")
+    public ResponseEntity<?> pause() {
+        if (!backfillService.pause()) {
+            return ResponseEntity.status(409).body(Map.of("error", "backfill is not running"));
+        }
+        return ResponseEntity.accepted().body(backfillService.status());
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<?> status() {
+        return ResponseEntity.ok(backfillService.status());
+    }
+}
@@ -4,9 +4,18 @@ import com.sentinova.backend.model.Sentiment;
 import com.sentinova.backend.model.Article;
 import com.sentinova.backend.repository.SentimentRepository;
 import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.SentimentAnalysisQueue;
+import com.sentinova.backend.service.SentimentBatchService;
+import com.sentinova.backend.service.SentimentBatchService.BatchItemResult;
+import com.sentinova.backend.service.SentimentNotReadyException;
+import com.sentinova.backend.service.SentimentService;
+import com.sentinova.backend.service.SentimentWriter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.*;
 
@@ -17,10 +26,29 @@ public class SentimentController {
 
     private final SentimentRepository sentimentRepository;
     private final ArticleRepository articleRepository;
+    private final SentimentService sentimentService;
+    private final SentimentBatchService sentimentBatchService;
+    private final SentimentWriter sentimentWriter;
 
-    public SentimentController(SentimentRepository sentimentRepository, ArticleRepository articleRepository) {
+    @Value("${sentiment.batch.max-items:5000}")
+    private int batchMaxItems;
+
+    @Value("${sentiment.batch.max-concurrency:8}")
+    private int batchMaxConcurrency;
+
+    @Value("${sentiment.nlp.retry-after-seconds:15}")
+    private long retryAfterSeconds;
+
+    public SentimentController(SentimentRepository sentimentRepository,
+                               ArticleRepository articleRepository,
+                               SentimentService sentimentService,
+                               SentimentBatchService sentimentBatchService,
+                               SentimentWriter sentimentWriter) {
         this.sentimentRepository = sentimentRepository;
         this.articleRepository = articleRepository;
+        this.sentimentService = sentimentService;
+        this.sentimentBatchService = sentimentBatchService;
+        this.sentimentWriter = sentimentWriter;
     }
 
     // ---------- Health ----------
@@ -50,17 +78,18 @@ public class SentimentController {
         String text = payload.getOrDefault("text", "").toString();
         String articleIdStr = payload.get("articleId") != null ? payload.get("articleId").toString() : null;
 
-        // simple rule-based analysis
-        String label = "NEUTRAL";
-        double score = 0.5;
-        if (!text.isBlank()) {
-            String lower = text.toLowerCase(Locale.ROOT);
-            if (lower.contains("good") || lower.contains("love") || lower.contains("great") || lower.contains("awesome")) {
-                label = "POSITIVE"; score = 0.9;
-            } else if (lower.contains("bad") || lower.contains("hate") || lower.contains("terrible") || lower.contains("awful")) {
-                label = "NEGATIVE"; score = 0.9;
-            }
+        // tiered analysis (lexicon first, full parse only when ambiguous); labels stay upper-case on this endpoint
+        SentimentService.SentimentResult sr;
+        try {
+            sr = sentimentService.analyzeText(text);
+        } catch (SentimentNotReadyException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
         }
+        String canonical = SentimentAnalysisQueue.normalizeLabel(sr.getLabel()); // stored form, like every other writer
+        String label = canonical.toUpperCase(Locale.ROOT);
+        double score = sr.getScore() != null ? sr.getScore() : 0.0; // same default as SentimentWriter
 
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("label", label);
@@ -75,8 +104,7 @@ public class SentimentController {
                     return ResponseEntity.badRequest().body(Map.of("error", "Article not found for id: " + articleId));
                 }
 
-                Sentiment sentiment = new Sentiment(articleOpt.get(), label, score);
-                Sentiment saved = sentimentRepository.save(sentiment);
+                Sentiment saved = sentimentWriter.record(articleOpt.get(), canonical, score, sr.isDegraded());
 
                 result.put("saved", true);
                 result.put("sentiment", saved);
@@ -90,6 +118,44 @@ public class SentimentController {
         return ResponseEntity.ok(result);
     }
 
+    // ---------- Batch analyze (streams one NDJSON line per item as results are ready) ----------
+    // body: { "articleIds": [uuid...], "texts": [string...], "save": true }, optional ?concurrency=N (capped)
+    @PostMapping(path = "/analyze/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<BatchItemResult>> analyzeBatch(@RequestBody BatchAnalyzeRequest request,
+                                                              @RequestParam(required = false) Integer concurrency) {
+        int ids = request.getArticleIds() != null ? request.getArticleIds().size() : 0;
+        int texts = request.getTexts() != null ? request.getTexts().size() : 0;
+        if (ids + texts == 0) {
+            return ResponseEntity.badRequest().body(Flux.just(BatchItemResult.failure("articleIds or texts required")));
+        }
+        if (ids + texts > batchMaxItems) {
+            return ResponseEntity.badRequest().body(Flux.just(BatchItemResult.failure("at most " + batchMaxItems + " items per batch")));
+        }
+        if (!sentimentService.isReady()) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Flux.just(BatchItemResult.failure("sentiment model is not ready")));
+        }
+
+        int cap = concurrency != null ? Math.max(1, Math.min(concurrency, batchMaxConcurrency)) : batchMaxConcurrency;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(sentimentBatchService.analyze(request.getArticleIds(), request.getTexts(), request.isSave(), cap));
+    }
+
+    public static class BatchAnalyzeRequest {
+        private List<UUID> articleIds;
+        private List<String> texts;
+        private boolean save = true;
+
+        public List<UUID> getArticleIds() { return articleIds; }
+        public void setArticleIds(List<UUID> articleIds) { this.articleIds = articleIds; }
+        public List<String> getTexts() { return texts; }
+        public void setTexts(List<String> texts) { this.texts = texts; }
+        public boolean isSave() { return save; }
+        public void setSave(boolean save) { this.save = save; }
+    }
+
     // ---------- Create ----------
     @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_FORM_URLENCODED_VALUE, MediaType.ALL_VALUE})
     public ResponseEntity<?> create(
@@ -119,9 +185,11 @@ public class SentimentController {
             return ResponseEntity.badRequest().body(Map.of("error", "Article with id " + articleId + " does not exist"));
         }
 
-        Sentiment sentiment = new Sentiment(articleOpt.get(), sentimentLabel, sentimentScore);
-        Sentiment saved = sentimentRepository.save(sentiment);
-        return ResponseEntity.status(201).body(saved);
+        // through the writer so the article's latest-sentiment columns stay in step; stored in the canonical form
+        // like every other writer. 200 with the existing row when it already was the latest sentiment
+        String canonical = SentimentAnalysisQueue.normalizeLabel(sentimentLabel);
+        SentimentWriter.Recorded recorded = sentimentWriter.recordManual(articleOpt.get(), canonical, sentimentScore);
+        return ResponseEntity.status(recorded.inserted() ? 201 : 200).body(recorded.sentiment());
     }
 
     // ---------- Get sentiments for an article ----------
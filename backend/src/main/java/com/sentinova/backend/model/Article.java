@@ -1,12 +1,14 @@
 package com.sentinova.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -14,12 +16,21 @@ import java.util.UUID;
 /**
  * Article JPA entity. Keeps imageUrl as a nullable text column and instructs Jackson to
  * exclude null fields from JSON serialization to keep API responses compact.
+ *
+ * The latest sentiment is denormalized onto the row (sentimentLabel/sentimentScore/sentimentAnalyzedAt, kept
+ * in step by SentimentWriter) so listings never touch the sentiments history; the history itself is not part
+ * of the article JSON (see GET /api/articles/{id}/with-sentiments). @DynamicUpdate keeps those writes and the
+ * poller's content updates from overwriting each other's columns. The price is that Hibernate does not JDBC-batch
+ * dynamic UPDATEs: a batch upsert sends its inserts in batches but each changed article as its own statement.
  */
 @Entity
 @Table(name = "articles", uniqueConstraints = {
         @UniqueConstraint(name = "uk_articles_url", columnNames = {"url"})
+}, indexes = {
+        @Index(name = "idx_articles_dedup_key", columnList = "dedup_key")
 })
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@DynamicUpdate
 public class Article {
 
     @Id
@@ -59,8 +70,54 @@ public class Article {
     @Column(name = "image_url", columnDefinition = "text", nullable = true)
     private String imageUrl;
 
+    /**
+     * Normalized title+source hash (see ArticleKeys.dedupKey). Maintained on every insert/update and
+     * used for the indexed duplicate check when an article has no usable URL.
+     */
+    @JsonIgnore
+    @Column(name = "dedup_key", length = 64)
+    private String dedupKey;
+
+    /**
+     * Fingerprint of title/summary/content/imageUrl (see ArticleKeys.contentHash), used by the poller to
+     * classify a re-polled article as changed or unchanged.
+     */
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * Last time a poll saw this article, whether or not it changed. fetchedAt only moves when content changes.
+     */
+    @Column(name = "last_seen_at")
+    private OffsetDateTime lastSeenAt;
+
+    /**
+     * Latest sentiment, canonical label (Positive/Negative/Neutral). Null until the article is first analyzed.
+     * Indexed together with the feed order in schema.sql (idx_articles_sentiment_label_fetched).
+     */
+    @Column(name = "sentiment_label", length = 16)
+    private String sentimentLabel;
+
+    @Column(name = "sentiment_score")
+    private Double sentimentScore;
+
+    // created_at of the sentiment row the two columns above were copied from
+    @Column(name = "sentiment_analyzed_at")
+    private OffsetDateTime sentimentAnalyzedAt;
+
+    /**
+     * Last insert or real change (content from the poller, latest sentiment from SentimentWriter); set by the
+     * lifecycle hook below, never by last-seen touches. Change cursor for GET /api/articles/changes, indexed in
+     * schema.sql (idx_articles_updated_at_id). Null on rows not written since the column was added. Not serialized:
+     * FeedArticle and ArticleCard have no such field, and every article endpoint returns the same JSON shape.
+     */
+    @JsonIgnore
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @JsonManagedReference
+    @JsonIgnore
     private List<Sentiment> sentiments = new ArrayList<>();
 
     public Article() {
@@ -73,6 +130,16 @@ public class Article {
         this.url = url;
     }
 
+    // === Lifecycle hook ===
+    // Hibernate only runs @PreUpdate for dirty entities, so updatedAt moves exactly when the row is written.
+    @PrePersist
+    @PreUpdate
+    public void refreshDerivedKeys() {
+        this.dedupKey = ArticleKeys.dedupKey(title, source);
+        this.contentHash = ArticleKeys.contentHash(this);
+        this.updatedAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS); // timestamptz precision
+    }
+
     // === Getters & Setters ===
     public UUID getId() {
         return id;
@@ -159,6 +226,62 @@ public class Article {
         this.imageUrl = imageUrl;
     }
 
+    public String getDedupKey() {
+        return dedupKey;
+    }
+
+    public void setDedupKey(String dedupKey) {
+        this.dedupKey = dedupKey;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public OffsetDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(OffsetDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getSentimentLabel() {
+        return sentimentLabel;
+    }
+
+    public void setSentimentLabel(String sentimentLabel) {
+        this.sentimentLabel = sentimentLabel;
+    }
+
+    public Double getSentimentScore() {
+        return sentimentScore;
+    }
+
+    public void setSentimentScore(Double sentimentScore) {
+        this.sentimentScore = sentimentScore;
+    }
+
+    public OffsetDateTime getSentimentAnalyzedAt() {
+        return sentimentAnalyzedAt;
+    }
+
+    public void setSentimentAnalyzedAt(OffsetDateTime sentimentAnalyzedAt) {
+        this.sentimentAnalyzedAt = sentimentAnalyzedAt;
+    }
+
     public List<Sentiment> getSentiments() {
         return sentiments;
     }
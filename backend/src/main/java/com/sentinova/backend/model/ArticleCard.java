@@ -0,0 +1,23 @@
+package com.sentinova.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read projection for feed cards (fields=card on the list endpoints): what a card shows, without content.
+ *
+ * Queries select these columns directly (JPQL constructor expressions / criteria construct), so the text
+ * body, which Postgres keeps out of line (TOAST), is never read for a feed page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArticleCard(UUID id, String title, String summary, String source, String category, String url,
+                          String imageUrl, OffsetDateTime publishedAt, OffsetDateTime fetchedAt,
+                          String sentimentLabel, Double sentimentScore) {
+
+    public static ArticleCard of(Article a) {
+        return new ArticleCard(a.getId(), a.getTitle(), a.getSummary(), a.getSource(), a.getCategory(), a.getUrl(),
+                a.getImageUrl(), a.getPublishedAt(), a.getFetchedAt(), a.getSentimentLabel(), a.getSentimentScore());
+    }
+}
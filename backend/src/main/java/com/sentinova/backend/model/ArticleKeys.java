@@ -0,0 +1,61 @@
+package com.sentinova.backend.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Derived lookup keys for Article rows.
+ *
+ * dedupKey = sha256(lower(trim(title)) + "\n" + lower(trim(source))), stored in the indexed dedup_key column
+ * so the title+source duplicate check is a single index lookup instead of a table scan.
+ *
+ * contentHash = sha256 over title/summary/content/imageUrl, stored in content_hash so pollers can tell an
+ * unchanged re-poll from a real edit without comparing the text columns.
+ */
+public final class ArticleKeys {
+
+    private ArticleKeys() {}
+
+    /**
+     * Normalized dedup key for a title+source pair. Never null: missing parts hash as empty strings,
+     * which can never collide with a lookup (lookups always have both a title and a source).
+     */
+    public static String dedupKey(String title, String source) {
+        return sha256Hex(normalize(title) + "\n" + normalize(source));
+    }
+
+    /**
+     * Fingerprint of the visible article content. Any edit to title, summary, content or image changes it.
+     */
+    public static String contentHash(Article article) {
+        return contentHash(article.getTitle(), article.getSummary(), article.getContent(), article.getImageUrl());
+    }
+
+    public static String contentHash(String title, String summary, String content, String imageUrl) {
+        // NUL cannot appear in Postgres text columns, so field boundaries are unambiguous
+        return sha256Hex(nullToEmpty(title) + '\0' + nullToEmpty(summary) + '\0'
+                + nullToEmpty(content) + '\0' + nullToEmpty(imageUrl));
+    }
+
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM is required to ship SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,133 @@
+package com.sentinova.backend.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a resumable background job (one row per job name). Written in the same transaction as each
+ * chunk's results, so a restart resumes right after the last committed chunk.
+ */
+@Entity
+@Table(name = "backfill_checkpoints")
+public class BackfillCheckpoint {
+
+    public enum State { IDLE, RUNNING, PAUSED, COMPLETED, FAILED }
+
+    @Id
+    @Column(name = "job_name", length = 64, nullable = false, updatable = false)
+    private String jobName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", length = 16, nullable = false)
+    private State state = State.IDLE;
+
+    // keyset position: last article id fully processed (null = start from the beginning)
+    @Column(name = "last_article_id", columnDefinition = "uuid")
+    private UUID lastArticleId;
+
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    @Column(name = "failed", nullable = false)
+    private long failed;
+
+    // engine signature the run was started with (informational: tells which model a run re-scored with)
+    @Column(name = "signature", length = 512)
+    private String signature;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public BackfillCheckpoint() {}
+
+    public BackfillCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+
+    // === Lifecycle hook ===
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = OffsetDateTime.now();
+    }
+
+    // === Getters / Setters ===
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public UUID getLastArticleId() {
+        return lastArticleId;
+    }
+
+    public void setLastArticleId(UUID lastArticleId) {
+        this.lastArticleId = lastArticleId;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public void setSignature(String signature) {
+        this.signature = signature;
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(OffsetDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
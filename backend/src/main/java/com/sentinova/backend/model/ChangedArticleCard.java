@@ -0,0 +1,24 @@
+package com.sentinova.backend.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Change-feed read projection: a card plus the updated_at it was read at (the change cursor position).
+ *
+ * Selected with one JPQL constructor expression (the flat constructor below), so like ArticleCard the text
+ * body is never read. Only the card is sent to clients.
+ */
+public record ChangedArticleCard(ArticleCard card, OffsetDateTime updatedAt) {
+
+    public ChangedArticleCard(UUID id, String title, String summary, String source, String category, String url,
+                              String imageUrl, OffsetDateTime publishedAt, OffsetDateTime fetchedAt,
+                              String sentimentLabel, Double sentimentScore, OffsetDateTime updatedAt) {
+        this(new ArticleCard(id, title, summary, source, category, url, imageUrl, publishedAt, fetchedAt,
+                sentimentLabel, sentimentScore), updatedAt);
+    }
+
+    public static ChangedArticleCard of(Article a) {
+        return new ChangedArticleCard(ArticleCard.of(a), a.getUpdatedAt());
+    }
+}
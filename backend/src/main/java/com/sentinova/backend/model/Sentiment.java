@@ -1,14 +1,21 @@
 package com.sentinova.backend.model;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "sentiments")
+@Table(name = "sentiments", indexes = {
+        // latest-sentiment lookups per article (SentimentWriter, ArticleSentimentController), compaction and the
+        // stale scan (SentimentStaleRescorer): the latest row's stamps are read from the index without heap access.
+        @Index(name = "idx_sentiments_article_created_stamps", columnList = "article_id, created_at, model_version, input_hash")
+})
 public class Sentiment {
 
+    // model_version of labels set by hand (SentimentWriter.recordManual); not re-scored while the content is unchanged
+    public static final String MANUAL_MODEL_VERSION = "manual";
+
     @Id
     @GeneratedValue
     @Column(name = "id", columnDefinition = "uuid", updatable = false, nullable = false)
@@ -16,7 +23,7 @@ public class Sentiment {
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "article_id", referencedColumnName = "id", columnDefinition = "uuid", nullable = false)
-    @JsonBackReference
+    @JsonIgnore
     private Article article;
 
     @Column(name = "label", length = 64, nullable = false)
@@ -28,6 +35,14 @@ public class Sentiment {
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
+    // pipeline signature (engines + tiering config) that produced this row; null for rows written before stamping
+    @Column(name = "model_version", length = 512)
+    private String modelVersion;
+
+    // article content_hash at scoring time, so edited articles can be found and re-scored
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+
     public Sentiment() {}
 
     public Sentiment(Article article, String label, Double score) {
@@ -85,6 +100,22 @@ public class Sentiment {
         this.createdAt = createdAt;
     }
 
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public String getInputHash() {
+        return inputHash;
+    }
+
+    public void setInputHash(String inputHash) {
+        this.inputHash = inputHash;
+    }
+
     // === Backward compatibility (for old code using SentimentLabel/SentimentScore) ===
     public String getSentimentLabel() {
         return this.label;
@@ -0,0 +1,75 @@
+package com.sentinova.backend.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Persisted sentiment result, keyed by the analysis cache key (sha256 of pipeline signature + normalized text).
+ * Lets the result cache survive restarts; see SentimentResultCache.
+ */
+@Entity
+@Table(name = "sentiment_cache")
+public class SentimentCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 64, nullable = false, updatable = false)
+    private String cacheKey;
+
+    @Column(name = "label", length = 64, nullable = false)
+    private String label;
+
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    public SentimentCacheEntry() {}
+
+    public SentimentCacheEntry(String cacheKey, String label, Double score) {
+        this.cacheKey = cacheKey;
+        this.label = label;
+        this.score = score;
+    }
+
+    // === Lifecycle hook ===
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = OffsetDateTime.now();
+        }
+    }
+
+    // === Getters / Setters ===
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,18 @@
+package com.sentinova.backend.repository;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom fragment of ArticleRepository: Specification-filtered listings that select only the card columns.
+ */
+public interface ArticleCardQueries {
+
+    /**
+     * Cards matching spec, ordered by timestampAttribute DESC NULLS LAST, id DESC, at most limit rows.
+     */
+    List<ArticleCard> findCards(Specification<Article> spec, String timestampAttribute, int limit);
+}
@@ -0,0 +1,46 @@
+package com.sentinova.backend.repository;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ArticleCardQueriesImpl implements ArticleCardQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ArticleCard> findCards(Specification<Article> spec, String timestampAttribute, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArticleCard> query = cb.createQuery(ArticleCard.class);
+        Root<Article> a = query.from(Article.class);
+
+        query.select(cardColumns(cb, a));
+
+        Predicate where = spec != null ? spec.toPredicate(a, query, cb) : null;
+        if (where != null) query.where(where);
+
+        // NULLS LAST is Hibernate-specific in criteria (plain JPA 3.1 has no null precedence)
+        HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+        query.orderBy(hcb.desc(a.get(timestampAttribute), false), cb.desc(a.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    // ArticleCard constructor expression: the card columns only, content is never read
+    static CompoundSelection<ArticleCard> cardColumns(CriteriaBuilder cb, Root<Article> a) {
+        return cb.construct(ArticleCard.class,
+                a.get("id"), a.get("title"), a.get("summary"), a.get("source"), a.get("category"), a.get("url"),
+                a.get("imageUrl"), a.get("publishedAt"), a.get("fetchedAt"), a.get("sentimentLabel"), a.get("sentimentScore"));
+    }
+}
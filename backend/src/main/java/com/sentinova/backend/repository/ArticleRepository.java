@@ -1,18 +1,157 @@
 package com.sentinova.backend.repository;
 
 import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import com.sentinova.backend.model.ChangedArticleCard;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, UUID> {
+public interface ArticleRepository extends JpaRepository<Article, UUID>, JpaSpecificationExecutor<Article>,
+        ArticleCardQueries, ArticleShuffleQueries {
+
+    // Newest-first feed; served by idx_articles_fetched_at_id (schema.sql), which matches this ORDER BY exactly
+    String RECENT_SQL = """
+            SELECT a.* FROM articles a
+            ORDER BY a.fetched_at DESC NULLS LAST, a.id DESC
+            LIMIT :limit
+            """;
+
+    // Filtered feed on the denormalized latest label (canonical Positive/Negative/Neutral); served by
+    // idx_articles_sentiment_label_fetched (schema.sql), the filter applies before the LIMIT
+    String RECENT_BY_LATEST_LABEL_SQL = """
+            SELECT a.* FROM articles a
+            WHERE a.sentiment_label = :label
+            ORDER BY a.fetched_at DESC NULLS LAST, a.id DESC
+            LIMIT :limit
+            """;
 
     Optional<Article> findByUrl(String url);
 
+    // Bulk URL lookup for batch upserts (one round trip per poll instead of one per article)
+    List<Article> findByUrlIn(Collection<String> urls);
+
+    // Indexed title+source dedup lookups (dedup_key = ArticleKeys.dedupKey(title, source))
+    Optional<Article> findFirstByDedupKey(String dedupKey);
+
+    List<Article> findByDedupKeyIn(Collection<String> dedupKeys);
+
+    // Lightweight "seen again, unchanged" touch: one UPDATE of a single column for the whole batch
+    @Modifying(flushAutomatically = true)
+    @Query("update Article a set a.lastSeenAt = :seenAt where a.id in :ids")
+    int touchLastSeen(@Param("ids") Collection<UUID> ids, @Param("seenAt") OffsetDateTime seenAt);
+
+    // Rows written before dedup_key existed (used by the one-off backfill)
+    Slice<Article> findByDedupKeyIsNull(Pageable pageable);
+
+    // Sets only dedup_key: a bulk update skips Article's lifecycle hook, so updated_at and content_hash stay put
+    @Modifying
+    @Query("update Article a set a.dedupKey = :dedupKey where a.id = :id")
+    int setDedupKey(@Param("id") UUID id, @Param("dedupKey") String dedupKey);
+
+    // Keyset walk over the whole table in primary-key order (sentiment re-score backfill)
+    List<Article> findByIdGreaterThanOrderByIdAsc(UUID after, Pageable pageable);
+
+    /**
+     * Articles after the given id whose latest sentiment is stale: missing, produced by a different pipeline
+     * version, or scored against different content (input_hash != content_hash). Keyset-paged by id.
+     * Hand-set labels ('manual' = Sentiment.MANUAL_MODEL_VERSION) only go stale when the content changes.
+     */
+    @Query(value = """
+            SELECT a.* FROM articles a
+            LEFT JOIN LATERAL (
+                SELECT s.model_version, s.input_hash FROM sentiments s
+                WHERE s.article_id = a.id
+                ORDER BY s.created_at DESC, s.id DESC
+                LIMIT 1
+            ) latest ON true
+            WHERE a.id > :after
+              AND ((latest.model_version IS DISTINCT FROM :modelVersion AND latest.model_version IS DISTINCT FROM 'manual')
+                   OR latest.input_hash IS DISTINCT FROM a.content_hash)
+            ORDER BY a.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Article> findStaleSentimentAfter(@Param("after") UUID after,
+                                          @Param("modelVersion") String modelVersion,
+                                          @Param("limit") int limit);
+
+    @Query(value = RECENT_SQL, nativeQuery = true)
+    List<Article> findRecent(@Param("limit") int limit);
+
+    @Query(value = RECENT_BY_LATEST_LABEL_SQL, nativeQuery = true)
+    List<Article> findRecentByLatestLabel(@Param("label") String label, @Param("limit") int limit);
+
+    // --- card projections (fields=card): same order and index as above, card columns only ---
+
+    @Query("select new com.sentinova.backend.model.ArticleCard(a.id, a.title, a.summary, a.source, a.category, a.url, "
+            + "a.imageUrl, a.publishedAt, a.fetchedAt, a.sentimentLabel, a.sentimentScore) "
+            + "from Article a order by a.fetchedAt desc nulls last, a.id desc")
+    List<ArticleCard> findRecentCards(Pageable page);
+
+    @Query("select new com.sentinova.backend.model.ArticleCard(a.id, a.title, a.summary, a.source, a.category, a.url, "
+            + "a.imageUrl, a.publishedAt, a.fetchedAt, a.sentimentLabel, a.sentimentScore) "
+            + "from Article a where a.sentimentLabel = :label order by a.fetchedAt desc nulls last, a.id desc")
+    List<ArticleCard> findRecentCardsByLatestLabel(@Param("label") String label, Pageable page);
+
+    // --- change feed (GET /api/articles/changes): keyset over (updated_at, id), idx_articles_updated_at_id ---
+
+    @Query("select new com.sentinova.backend.model.ChangedArticleCard(a.id, a.title, a.summary, a.source, a.category, "
+            + "a.url, a.imageUrl, a.publishedAt, a.fetchedAt, a.sentimentLabel, a.sentimentScore, a.updatedAt) "
+            + "from Article a where a.updatedAt <= :horizon "
+            + "and (a.updatedAt > :afterTs or (a.updatedAt = :afterTs and a.id > :afterId)) "
+            + "order by a.updatedAt, a.id")
+    List<ChangedArticleCard> findChangedAfter(@Param("afterTs") OffsetDateTime afterTs, @Param("afterId") UUID afterId,
+                                   @Param("horizon") OffsetDateTime horizon, Pageable page);
+
+    // --- denormalized latest-sentiment repair (keyset over ids, see ArticleSentimentRepair) ---
+
+    @Query(value = "SELECT id FROM articles WHERE id > :after ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<UUID> findIdsAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    // Re-copy each article's latest sentiment row (label canonicalized like SentimentAnalysisQueue.normalizeLabel);
+    // only rows that drifted are written (and get updated_at = :now, from the app clock like entity writes, so
+    // change-feed cursors compare one clock). Articles without sentiments get nulls.
+    @Modifying
+    @Query(value = """
+            UPDATE articles a
+            SET sentiment_label = l.label, sentiment_score = l.score, sentiment_analyzed_at = l.created_at,
+                updated_at = :now
+            FROM (
+                SELECT x.id,
+                       CASE WHEN s.label IS NULL THEN NULL
+                            WHEN lower(s.label) LIKE '%pos%' THEN 'Positive'
+                            WHEN lower(s.label) LIKE '%neg%' THEN 'Negative'
+                            ELSE 'Neutral' END AS label,
+                       s.score, s.created_at
+                FROM articles x
+                LEFT JOIN LATERAL (
+                    SELECT label, score, created_at FROM sentiments
+                    WHERE article_id = x.id
+                    ORDER BY created_at DESC, id DESC
+                    LIMIT 1
+                ) s ON true
+                WHERE x.id IN (:ids)
+            ) l
+            WHERE a.id = l.id
+              AND (a.sentiment_label IS DISTINCT FROM l.label
+                   OR a.sentiment_score IS DISTINCT FROM l.score
+                   OR a.sentiment_analyzed_at IS DISTINCT FROM l.created_at)
+            """, nativeQuery = true)
+    int repairLatestSentiment(@Param("ids") Collection<UUID> ids, @Param("now") OffsetDateTime now);
+
     /**
      * Fetch an Article along with its sentiments to avoid lazy-loading issues.
      * Make sure the Article entity has a collection mapped for sentiments (e.g. @OneToMany(mappedBy="article")).
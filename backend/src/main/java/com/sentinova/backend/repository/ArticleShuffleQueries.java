@@ -0,0 +1,24 @@
+package com.sentinova.backend.repository;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom fragment of ArticleRepository: Specification-filtered listings in a seeded pseudo-random order
+ * (ArticleSpecifications.shuffleKey ASC, id ASC), so shuffled feeds page with a keyset like ordinary ones.
+ */
+public interface ArticleShuffleQueries {
+
+    /**
+     * Articles matching spec in the order of seed, at most limit rows.
+     */
+    List<Article> findShuffled(Specification<Article> spec, String seed, int limit);
+
+    /**
+     * Cards matching spec in the order of seed, at most limit rows.
+     */
+    List<ArticleCard> findShuffledCards(Specification<Article> spec, String seed, int limit);
+}
@@ -0,0 +1,47 @@
+package com.sentinova.backend.repository;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ArticleShuffleQueriesImpl implements ArticleShuffleQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Article> findShuffled(Specification<Article> spec, String seed, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Article> query = cb.createQuery(Article.class);
+        Root<Article> a = query.from(Article.class);
+        query.select(a);
+        return shuffled(query, a, cb, spec, seed, limit);
+    }
+
+    @Override
+    public List<ArticleCard> findShuffledCards(Specification<Article> spec, String seed, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArticleCard> query = cb.createQuery(ArticleCard.class);
+        Root<Article> a = query.from(Article.class);
+        query.select(ArticleCardQueriesImpl.cardColumns(cb, a));
+        return shuffled(query, a, cb, spec, seed, limit);
+    }
+
+    // No index can serve an arbitrary seed: Postgres hashes the filtered rows and keeps only the top `limit`
+    // (bounded top-N sort), so a page never materializes the whole table in the app.
+    private <T> List<T> shuffled(CriteriaQuery<T> query, Root<Article> a, CriteriaBuilder cb,
+                                 Specification<Article> spec, String seed, int limit) {
+        Predicate where = spec != null ? spec.toPredicate(a, query, cb) : null;
+        if (where != null) query.where(where);
+        query.orderBy(cb.asc(ArticleSpecifications.shuffleKey(a, cb, seed)), cb.asc(a.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.sentinova.backend.repository;
+
+import com.sentinova.backend.model.Article;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Criteria building blocks for article listings (GET /api/articles), so filters and keyset bounds run in SQL.
+ */
+public final class ArticleSpecifications {
+
+    private ArticleSpecifications() {}
+
+    public static Specification<Article> sourceEquals(String source) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("source")), source.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Article> categoryEquals(String category) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("category")), category.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The article's latest sentiment has this canonical label (denormalized Article.sentimentLabel, indexed).
+     */
+    public static Specification<Article> latestSentimentLabel(String label) {
+        return (root, query, cb) -> cb.equal(root.get("sentimentLabel"), label);
+    }
+
+    /**
+     * Keyset bound for the order (timestamp DESC NULLS LAST, id DESC): rows strictly after (afterTs, afterId).
+     * afterTs == null means the cursor is already inside the trailing null-timestamp rows.
+     */
+    public static Specification<Article> after(String timestampAttribute, OffsetDateTime afterTs, UUID afterId) {
+        return (root, query, cb) -> {
+            Path<OffsetDateTime> ts = root.get(timestampAttribute);
+            Path<UUID> id = root.get("id");
+            if (afterTs == null) {
+                return cb.and(cb.isNull(ts), cb.lessThan(id, afterId));
+            }
+            return cb.or(
+                    cb.lessThan(ts, afterTs),
+                    cb.and(cb.equal(ts, afterTs), cb.lessThan(id, afterId)),
+                    cb.isNull(ts));
+        };
+    }
+
+    /**
+     * Seeded shuffle key: md5(id::text || seed), lowercase hex. Same value as ArticleFeedService.shuffleKey, so
+     * a permutation computed in memory and one computed in SQL agree.
+     */
+    public static Expression<String> shuffleKey(Root<Article> root, CriteriaBuilder cb, String seed) {
+        return cb.function("md5", String.class, cb.concat(root.get("id").as(String.class), cb.literal(seed)));
+    }
+
+    /**
+     * Keyset bound for the seeded order (shuffle key ASC, id ASC): rows strictly after (afterKey, afterId).
+     */
+    public static Specification<Article> shuffledAfter(String seed, String afterKey, UUID afterId) {
+        return (root, query, cb) -> {
+            Expression<String> key = shuffleKey(root, cb, seed);
+            Path<UUID> id = root.get("id");
+            return cb.or(
+                    cb.greaterThan(key, afterKey),
+                    cb.and(cb.equal(key, afterKey), cb.greaterThan(id, afterId)));
+        };
+    }
+}
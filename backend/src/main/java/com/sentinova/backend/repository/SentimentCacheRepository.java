@@ -0,0 +1,27 @@
+package com.sentinova.backend.repository;
+
+import com.sentinova.backend.model.SentimentCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SentimentCacheRepository extends JpaRepository<SentimentCacheEntry, String> {
+
+    // Entries older than the cache TTL are treated as missing
+    Optional<SentimentCacheEntry> findByCacheKeyAndCreatedAtAfter(String cacheKey, OffsetDateTime notBefore);
+
+    // Insert-if-absent: concurrent workers analyzing the same text must not fail on the primary key
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO sentiment_cache (cache_key, label, score, created_at) VALUES (:key, :label, :score, now()) "
+            + "ON CONFLICT (cache_key) DO UPDATE SET label = EXCLUDED.label, score = EXCLUDED.score, created_at = EXCLUDED.created_at",
+            nativeQuery = true)
+    int upsert(@Param("key") String cacheKey, @Param("label") String label, @Param("score") Double score);
+}
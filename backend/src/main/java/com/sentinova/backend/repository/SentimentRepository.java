@@ -2,14 +2,43 @@ package com.sentinova.backend.repository;
 
 import com.sentinova.backend.model.Sentiment;
 import com.sentinova.backend.model.Article;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
 import java.util.Optional;
 
 public interface SentimentRepository extends JpaRepository<Sentiment, UUID> {
 
+    // Delete rows repeated by the next row for the same article: same label+score and the same provenance
+    // (model_version, input_hash), as SentimentWriter.sameResult. Keeps the last row of each run, so the latest
+    // row per article (its stamp and its time) is never deleted.
+    String DELETE_CONSECUTIVE_DUPLICATES_SQL = """
+            DELETE FROM sentiments WHERE id IN (
+                SELECT id FROM (
+                    SELECT id, label, score, model_version, input_hash,
+                           LEAD(id) OVER w AS next_id,
+                           LEAD(label) OVER w AS next_label,
+                           LEAD(score) OVER w AS next_score,
+                           LEAD(model_version) OVER w AS next_model_version,
+                           LEAD(input_hash) OVER w AS next_input_hash
+                    FROM sentiments
+                    WHERE article_id IN (:articleIds)
+                    WINDOW w AS (PARTITION BY article_id ORDER BY created_at, id)
+                ) h
+                WHERE h.next_id IS NOT NULL
+                  AND h.label = h.next_label AND h.score = h.next_score
+                  AND h.model_version IS NOT DISTINCT FROM h.next_model_version
+                  AND h.input_hash IS NOT DISTINCT FROM h.next_input_hash
+            )
+            """;
+
     // Get sentiments for a given article (direct FK lookup by article id)
     List<Sentiment> findByArticleId(UUID articleId);
 
@@ -19,4 +48,28 @@ public interface SentimentRepository extends JpaRepository<Sentiment, UUID> {
     // Return the single latest sentiment entity for the given Article (if any).
     // This is used to "upsert" — update the latest sentiment instead of always inserting.
     Optional<Sentiment> findTopByArticleOrderByCreatedAtDesc(Article article);
+
+    // Latest sentiment per article for a whole batch in one query (SentimentWriter.recordAll)
+    @Query(value = "SELECT DISTINCT ON (article_id) * FROM sentiments WHERE article_id IN (:articleIds) "
+            + "ORDER BY article_id, created_at DESC, id DESC", nativeQuery = true)
+    List<Sentiment> findLatestByArticleIds(@Param("articleIds") Collection<UUID> articleIds);
+
+    // --- change feed (GET /api/articles/changes): keyset over (created_at, id), idx_sentiments_created_at_id ---
+
+    @Query("select s from Sentiment s where s.createdAt <= :horizon "
+            + "and (s.createdAt > :afterTs or (s.createdAt = :afterTs and s.id > :afterId)) "
+            + "order by s.createdAt, s.id")
+    List<Sentiment> findWrittenAfter(@Param("afterTs") OffsetDateTime afterTs, @Param("afterId") UUID afterId,
+                                     @Param("horizon") OffsetDateTime horizon, Pageable page);
+
+    // --- history compaction (keyset over article ids, one small batch per transaction) ---
+
+    @Query(value = "SELECT DISTINCT article_id FROM sentiments WHERE article_id > :after ORDER BY article_id LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findArticleIdsAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    // collapse runs of identical rows for these articles (see DELETE_CONSECUTIVE_DUPLICATES_SQL)
+    @Modifying
+    @Query(value = DELETE_CONSECUTIVE_DUPLICATES_SQL, nativeQuery = true)
+    int deleteConsecutiveDuplicates(@Param("articleIds") Collection<UUID> articleIds);
 }
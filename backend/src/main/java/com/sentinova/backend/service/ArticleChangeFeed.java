@@ -0,0 +1,271 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.ArticleCard;
+import com.sentinova.backend.model.ChangedArticleCard;
+import com.sentinova.backend.model.Sentiment;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.repository.SentimentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delta sync behind GET /api/articles/changes: articles written and sentiments recorded since an opaque cursor.
+ *
+ * Notes:
+ *  - Articles are keyed by Article.updatedAt (set by the entity lifecycle hook on every insert and real change,
+ *    including the denormalized latest sentiment; bulk repairs set it in SQL from the same app clock), sentiments
+ *    by createdAt. Both are keyset scans over (timestamp, id) indexes, so a call costs what changed, not the
+ *    table size. Articles are read as card projections (ChangedArticleCard): content is never loaded.
+ *  - Only rows older than articles.changes.commit-lag-ms are returned: a transaction that stamped its rows
+ *    earlier but commits later than a faster one is still picked up by the next call instead of being skipped.
+ *  - No cursor = start from now (the client loaded its list from /recent). The returned cursor is passed back
+ *    as is; hasMore=true means a page limit was hit and the client should call again right away.
+ *  - Long polling: with a wait, an empty answer is parked until FeedVersion moves and the new rows are past
+ *    the commit lag (checked every articles.changes.check-interval-ms), or until the wait elapses. Parked
+ *    requests with the same cursor share one query.
+ */
+@Service
+public class ArticleChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleChangeFeed.class);
+
+    private static final UUID MAX_UUID = new UUID(-1L, -1L); // sorts after every uuid in Postgres
+
+    private final ArticleRepository articleRepository;
+    private final SentimentRepository sentimentRepository;
+    private final FeedVersion feedVersion;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final long commitLagMs;
+    private final long maxWaitMs;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    public ArticleChangeFeed(ArticleRepository articleRepository,
+                             SentimentRepository sentimentRepository,
+                             FeedVersion feedVersion,
+                             @Value("${articles.changes.default-limit:100}") int defaultLimit,
+                             @Value("${articles.changes.max-limit:500}") int maxLimit,
+                             @Value("${articles.changes.commit-lag-ms:2000}") long commitLagMs,
+                             @Value("${articles.changes.max-wait-ms:30000}") long maxWaitMs) {
+        this.articleRepository = articleRepository;
+        this.sentimentRepository = sentimentRepository;
+        this.feedVersion = feedVersion;
+        this.maxLimit = Math.max(1, maxLimit);
+        this.defaultLimit = Math.min(Math.max(1, defaultLimit), this.maxLimit);
+        this.commitLagMs = Math.max(0, commitLagMs);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+    }
+
+    /**
+     * Changes after cursor (null: none, just a cursor for "now"). A malformed cursor is an IllegalArgumentException.
+     */
+    public Changes since(String cursor, Integer limit) {
+        OffsetDateTime horizon = OffsetDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(commitLagMs));
+        if (!StringUtils.hasText(cursor)) {
+            return new Changes(List.of(), List.of(), ChangeCursor.start(horizon).encode(), false);
+        }
+        ChangeCursor after = ChangeCursor.decode(cursor);
+        int pageSize = limit == null ? defaultLimit : Math.min(Math.max(1, limit), maxLimit);
+
+        List<ChangedArticleCard> articles = articleRepository.findChangedAfter(after.articleTs, after.articleId, horizon,
+                PageRequest.of(0, pageSize + 1));
+        List<Sentiment> sentiments = sentimentRepository.findWrittenAfter(after.sentimentTs, after.sentimentId, horizon,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = articles.size() > pageSize || sentiments.size() > pageSize;
+        if (articles.size() > pageSize) articles = articles.subList(0, pageSize);
+        if (sentiments.size() > pageSize) sentiments = sentiments.subList(0, pageSize);
+
+        ChangeCursor next = after;
+        if (!articles.isEmpty()) {
+            ChangedArticleCard last = articles.get(articles.size() - 1);
+            next = new ChangeCursor(last.updatedAt(), last.card().id(), next.sentimentTs, next.sentimentId);
+        }
+        if (!sentiments.isEmpty()) {
+            Sentiment last = sentiments.get(sentiments.size() - 1);
+            next = new ChangeCursor(next.articleTs, next.articleId, last.getCreatedAt(), last.getId());
+        }
+
+        List<ArticleCard> cards = new ArrayList<>(articles.size());
+        for (ChangedArticleCard a : articles) cards.add(a.card());
+        List<SentimentChange> written = new ArrayList<>(sentiments.size());
+        for (Sentiment s : sentiments) written.add(new SentimentChange(s));
+        return new Changes(cards, written, next == after ? cursor.trim() : next.encode(), hasMore);
+    }
+
+    /**
+     * since(), but when nothing changed and waitMs > 0, completes later: with the first changes after the cursor,
+     * or with the empty answer once the wait (capped at articles.changes.max-wait-ms) is over.
+     */
+    public CompletableFuture<Changes> await(String cursor, Integer limit, long waitMs) {
+        long version = feedVersion.get(); // read before the query: a change racing it still wakes the waiter
+        Changes now = since(cursor, limit);
+        if (now.hasChanges() || waitMs <= 0 || maxWaitMs == 0) return CompletableFuture.completedFuture(now);
+
+        Waiter waiter = new Waiter(now.getCursor(), limit, version);
+        waiters.add(waiter);
+        waiter.future.whenComplete((changes, error) -> waiters.remove(waiter));
+        return waiter.future.completeOnTimeout(now, Math.min(waitMs, maxWaitMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Re-check parked requests whose view is older than the current FeedVersion.
+     */
+    @Scheduled(fixedDelayString = "${articles.changes.check-interval-ms:500}")
+    public void wakeWaiters() {
+        if (waiters.isEmpty()) return;
+        long version = feedVersion.get();
+        // rows of the last bump may still be inside the commit lag; until it has passed, keep re-checking
+        boolean settled = System.currentTimeMillis() >= feedVersion.lastModifiedMillis() + commitLagMs;
+
+        Map<String, List<Waiter>> byCursor = new LinkedHashMap<>();
+        for (Waiter w : waiters) {
+            if (w.version < version) byCursor.computeIfAbsent(w.cursor + "|" + w.limit, k -> new ArrayList<>()).add(w);
+        }
+        for (List<Waiter> group : byCursor.values()) {
+            try {
+                Changes changes = since(group.get(0).cursor, group.get(0).limit);
+                for (Waiter w : group) {
+                    if (changes.hasChanges()) w.future.complete(changes);
+                    else if (settled) w.version = version;
+                }
+            } catch (Exception e) {
+                log.warn("Change feed check failed for {} waiting requests: {}", group.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    public int getWaitingCount() {
+        return waiters.size();
+    }
+
+    private static final class Waiter {
+        final String cursor;
+        final Integer limit;
+        final CompletableFuture<Changes> future = new CompletableFuture<>();
+        volatile long version;
+
+        Waiter(String cursor, Integer limit, long version) {
+            this.cursor = cursor;
+            this.limit = limit;
+            this.version = version;
+        }
+    }
+
+    /**
+     * One delta: changed articles (as cards, oldest change first), recorded sentiments, and the cursor to resume from.
+     */
+    public static class Changes {
+        private final List<ArticleCard> articles;
+        private final List<SentimentChange> sentiments;
+        private final String cursor;
+        private final boolean hasMore;
+
+        public Changes(List<ArticleCard> articles, List<SentimentChange> sentiments, String cursor, boolean hasMore) {
+            this.articles = articles;
+            this.sentiments = sentiments;
+            this.cursor = cursor;
+            this.hasMore = hasMore;
+        }
+
+        public List<ArticleCard> getArticles() { return articles; }
+        public List<SentimentChange> getSentiments() { return sentiments; }
+        public String getCursor() { return cursor; }
+        public boolean isHasMore() { return hasMore; }
+
+        public boolean hasChanges() {
+            return !articles.isEmpty() || !sentiments.isEmpty();
+        }
+    }
+
+    /**
+     * A sentiment row as seen by the change feed (the entity hides its article).
+     */
+    public static class SentimentChange {
+        private final UUID id;
+        private final UUID articleId;
+        private final String label;
+        private final Double score;
+        private final OffsetDateTime createdAt;
+
+        SentimentChange(Sentiment s) {
+            this.id = s.getId();
+            this.articleId = s.getArticle().getId(); // proxy id, no fetch
+            this.label = s.getLabel();
+            this.score = s.getScore();
+            this.createdAt = s.getCreatedAt();
+        }
+
+        public UUID getId() { return id; }
+        public UUID getArticleId() { return articleId; }
+        public String getLabel() { return label; }
+        public Double getScore() { return score; }
+        public OffsetDateTime getCreatedAt() { return createdAt; }
+    }
+
+    // "c|<article ts>|<article id>|<sentiment ts>|<sentiment id>", timestamps as epoch-seconds.nanos, base64url
+    static final class ChangeCursor {
+        final OffsetDateTime articleTs;
+        final UUID articleId;
+        final OffsetDateTime sentimentTs;
+        final UUID sentimentId;
+
+        ChangeCursor(OffsetDateTime articleTs, UUID articleId, OffsetDateTime sentimentTs, UUID sentimentId) {
+            this.articleTs = articleTs;
+            this.articleId = articleId;
+            this.sentimentTs = sentimentTs;
+            this.sentimentId = sentimentId;
+        }
+
+        static ChangeCursor start(OffsetDateTime at) {
+            return new ChangeCursor(at, MAX_UUID, at, MAX_UUID);
+        }
+
+        String encode() {
+            String raw = "c|" + ts(articleTs) + "|" + articleId + "|" + ts(sentimentTs) + "|" + sentimentId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ChangeCursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", -1);
+                if (parts.length != 5 || !parts[0].equals("c")) {
+                    throw new IllegalArgumentException("cursor does not belong to the change feed");
+                }
+                return new ChangeCursor(parseTs(parts[1]), UUID.fromString(parts[2]), parseTs(parts[3]), UUID.fromString(parts[4]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("invalid cursor", e);
+            }
+        }
+
+        private static String ts(OffsetDateTime t) {
+            return t.toInstant().getEpochSecond() + "." + t.toInstant().getNano();
+        }
+
+        private static OffsetDateTime parseTs(String s) {
+            String[] secNanos = s.split("\\.", -1);
+            return Instant.ofEpochSecond(Long.parseLong(secNanos[0]), Long.parseLong(secNanos[1])).atOffset(ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleKeys;
+import com.sentinova.backend.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-off backfill of Article.dedupKey for rows written before the column existed.
+ *
+ * Runs once the application is ready, in small chunks (one short transaction each), and stops as soon as
+ * no row with a null dedup_key is left. New/updated rows get their key from Article's lifecycle hook.
+ *
+ * Only dedup_key is written (ArticleRepository.setDedupKey, not an entity update): going through the lifecycle
+ * hook would also rewrite content_hash and bump updated_at, and /api/articles/changes clients would then
+ * re-download every legacy row.
+ */
+@Component
+public class ArticleDedupKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleDedupKeyBackfill.class);
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${articles.dedup-backfill.chunk-size:500}")
+    private int chunkSize;
+
+    public ArticleDedupKeyBackfill(ArticleRepository articleRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long total = 0;
+        try {
+            while (true) {
+                Integer updated = transactionTemplate.execute(status -> {
+                    Slice<Article> chunk = articleRepository.findByDedupKeyIsNull(PageRequest.of(0, chunkSize));
+                    for (Article a : chunk) {
+                        articleRepository.setDedupKey(a.getId(), ArticleKeys.dedupKey(a.getTitle(), a.getSource()));
+                    }
+                    return chunk.getNumberOfElements();
+                });
+                if (updated == null || updated == 0) break;
+                total += updated;
+            }
+        } catch (Exception e) {
+            log.warn("Dedup key backfill stopped after {} articles: {}", total, e.getMessage(), e);
+            return;
+        }
+
+        if (total > 0) {
+            log.info("Dedup key backfill complete: {} articles updated", total);
+        }
+    }
+}
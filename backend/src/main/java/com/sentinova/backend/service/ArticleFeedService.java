@@ -0,0 +1,309 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.repository.ArticleSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Keyset-paginated article listing behind GET /api/articles.
+ *
+ * Notes:
+ *  - Order is (fetchedAt or publishedAt) DESC NULLS LAST, id DESC; each page is one query bounded by the page
+ *    size (limit + 1 rows to know whether there is a next page), never a full-table read.
+ *  - Source, category and latest-sentiment filters are Specifications (ArticleSpecifications), applied in SQL;
+ *    the sentiment filter reads the denormalized Article.sentimentLabel column.
+ *  - fields=card selects ArticleCard projections (card columns only, no content); the default is full Articles.
+ *  - Continuation tokens are opaque (base64url of sort key, timestamp and id). A token only resumes the sort it
+ *    was issued for; a malformed or mismatched token is an IllegalArgumentException (400 at the controller).
+ *  - Seeded shuffle (listShuffled): a stable pseudo-random permutation per seed, ordered by
+ *    md5(id || seed), id and paged with the same keyset scheme, so a shuffled feed is cacheable and pageable.
+ *    Filters apply as usual. shuffleKey computes the same key in memory (used for the in-memory /recent list).
+ */
+@Service
+public class ArticleFeedService {
+
+    private static final Pattern SEED = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ArticleRepository articleRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public ArticleFeedService(ArticleRepository articleRepository,
+                              @Value("${articles.page.default-size:50}") int defaultPageSize,
+                              @Value("${articles.page.max-size:200}") int maxPageSize) {
+        this.articleRepository = articleRepository;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+    }
+
+    public enum SortKey {
+        FETCHED("fetchedAt", "f"),
+        PUBLISHED("publishedAt", "p");
+
+        private final String attribute;
+        private final String token;
+
+        SortKey(String attribute, String token) {
+            this.attribute = attribute;
+            this.token = token;
+        }
+
+        public static SortKey parse(String value) {
+            if (!StringUtils.hasText(value)) return FETCHED;
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "fetched", "fetchedat" -> FETCHED;
+                case "published", "publishedat" -> PUBLISHED;
+                default -> throw new IllegalArgumentException("sort must be fetched or published, got: " + value);
+            };
+        }
+
+        OffsetDateTime valueOf(Article a) {
+            return this == FETCHED ? a.getFetchedAt() : a.getPublishedAt();
+        }
+
+        OffsetDateTime valueOf(ArticleCard c) {
+            return this == FETCHED ? c.fetchedAt() : c.publishedAt();
+        }
+    }
+
+    /**
+     * Response shape selected with fields=: full Article JSON (default) or ArticleCard (no content column read).
+     */
+    public enum Fields {
+        FULL, CARD;
+
+        public static Fields parse(String value) {
+            if (!StringUtils.hasText(value)) return FULL;
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "full", "all" -> FULL;
+                case "card", "cards" -> CARD;
+                default -> throw new IllegalArgumentException("fields must be full or card, got: " + value);
+            };
+        }
+    }
+
+    /**
+     * One page of a listing; nextCursor is null on the last page. Items are Articles or ArticleCards (fields).
+     */
+    public Page list(SortKey sort, Fields fields, String sentiment, String source, String category, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+
+        Specification<Article> spec = filters(sentiment, source, category);
+        if (StringUtils.hasText(cursor)) {
+            Cursor c = Cursor.decode(cursor, sort);
+            spec = spec.and(ArticleSpecifications.after(sort.attribute, c.timestamp, c.id));
+        }
+
+        if (fields == Fields.CARD) {
+            List<ArticleCard> rows = articleRepository.findCards(spec, sort.attribute, pageSize + 1);
+            if (rows.size() <= pageSize) return new Page(rows, null);
+            ArticleCard last = rows.get(pageSize - 1);
+            return new Page(new ArrayList<>(rows.subList(0, pageSize)), new Cursor(sort.valueOf(last), last.id()).encode(sort));
+        }
+
+        Sort order = Sort.by(Sort.Order.desc(sort.attribute).nullsLast(), Sort.Order.desc("id"));
+        List<Article> rows = articleRepository.findBy(spec, q -> q.sortBy(order).limit(pageSize + 1).all());
+
+        if (rows.size() <= pageSize) return new Page(rows, null);
+        Article last = rows.get(pageSize - 1);
+        return new Page(new ArrayList<>(rows.subList(0, pageSize)), new Cursor(sort.valueOf(last), last.getId()).encode(sort));
+    }
+
+    /**
+     * One page of the permutation of the filtered articles given by seed (see checkSeed); nextCursor is null on
+     * the last page. The same seed always yields the same order, until articles are added or removed.
+     */
+    public Page listShuffled(Fields fields, String seed, String sentiment, String source, String category, String cursor, Integer limit) {
+        String s = checkSeed(seed);
+        int pageSize = pageSize(limit);
+
+        Specification<Article> spec = filters(sentiment, source, category);
+        if (StringUtils.hasText(cursor)) {
+            UUID afterId = ShuffleCursor.decode(cursor, s);
+            spec = spec.and(ArticleSpecifications.shuffledAfter(s, shuffleKey(afterId, s), afterId));
+        }
+
+        if (fields == Fields.CARD) {
+            List<ArticleCard> rows = articleRepository.findShuffledCards(spec, s, pageSize + 1);
+            if (rows.size() <= pageSize) return new Page(rows, null);
+            return new Page(new ArrayList<>(rows.subList(0, pageSize)), ShuffleCursor.encode(s, rows.get(pageSize - 1).id()));
+        }
+
+        List<Article> rows = articleRepository.findShuffled(spec, s, pageSize + 1);
+        if (rows.size() <= pageSize) return new Page(rows, null);
+        return new Page(new ArrayList<>(rows.subList(0, pageSize)), ShuffleCursor.encode(s, rows.get(pageSize - 1).getId()));
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.min(Math.max(1, limit), maxPageSize);
+    }
+
+    private static Specification<Article> filters(String sentiment, String source, String category) {
+        Specification<Article> spec = Specification.where(null);
+        if (StringUtils.hasText(sentiment) && !"All".equalsIgnoreCase(sentiment.trim())) {
+            spec = spec.and(ArticleSpecifications.latestSentimentLabel(canonicalSentiment(sentiment)));
+        }
+        if (StringUtils.hasText(source)) spec = spec.and(ArticleSpecifications.sourceEquals(source));
+        if (StringUtils.hasText(category)) spec = spec.and(ArticleSpecifications.categoryEquals(category));
+        return spec;
+    }
+
+    /**
+     * Shuffle seed as accepted from clients: 1-64 characters of [A-Za-z0-9_-] (it ends up in cursors and
+     * cache keys). Anything else is an IllegalArgumentException.
+     */
+    public static String checkSeed(String seed) {
+        if (seed == null || !SEED.matcher(seed.trim()).matches()) {
+            throw new IllegalArgumentException("seed must be 1-64 characters of [A-Za-z0-9_-], got: " + seed);
+        }
+        return seed.trim();
+    }
+
+    /**
+     * Fresh seed for shuffle=true without one; handed back to the client so it can page or repeat the order.
+     */
+    public static String newSeed() {
+        return Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+    }
+
+    /**
+     * Position of an article in the seed's permutation: lowercase hex md5 of id + seed, the same value
+     * ArticleSpecifications.shuffleKey computes in SQL.
+     */
+    public static String shuffleKey(UUID id, String seed) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest((id + seed).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e); // mandatory in every JRE
+        }
+    }
+
+    /**
+     * items reordered by the seed's permutation (shuffleKey, then id), e.g. an in-memory recent list.
+     */
+    public static <T> List<T> shuffled(List<T> items, Function<? super T, UUID> idOf, String seed) {
+        Map<UUID, String> keys = new HashMap<>(items.size() * 2);
+        for (T item : items) {
+            UUID id = idOf.apply(item);
+            keys.put(id, shuffleKey(id, seed));
+        }
+        List<T> out = new ArrayList<>(items);
+        out.sort(Comparator.comparing((T item) -> keys.get(idOf.apply(item))).thenComparing(idOf));
+        return out;
+    }
+
+    /**
+     * Sentiment filter value as stored in Article.sentimentLabel: Positive/Negative/Neutral in any case maps to
+     * the canonical form; anything else is passed through (and matches nothing).
+     */
+    public static String canonicalSentiment(String value) {
+        String v = value.trim();
+        for (String label : new String[]{"Positive", "Negative", "Neutral"}) {
+            if (label.equalsIgnoreCase(v)) return label;
+        }
+        return v;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public static class Page {
+        private final List<?> items;
+        private final String nextCursor;
+
+        public Page(List<?> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<?> getItems() { return items; }
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    // position in a seeded permutation: "s|<seed>|<uuid>" (base64url); the key is recomputed from id and seed
+    static final class ShuffleCursor {
+        private ShuffleCursor() {}
+
+        static String encode(String seed, UUID id) {
+            String raw = "s|" + seed + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static UUID decode(String token, String seed) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", -1);
+                if (parts.length != 3 || !parts[0].equals("s") || !parts[1].equals(seed)) {
+                    throw new IllegalArgumentException("cursor does not belong to this listing");
+                }
+                return UUID.fromString(parts[2]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid cursor", e);
+            }
+        }
+    }
+
+    // position of the last row served: "<sort token>|<epoch-seconds.nanos or '-'>|<uuid>", base64url without padding
+    static final class Cursor {
+        final OffsetDateTime timestamp;
+        final UUID id;
+
+        Cursor(OffsetDateTime timestamp, UUID id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        String encode(SortKey sort) {
+            String ts = timestamp == null ? "-"
+                    : timestamp.toInstant().getEpochSecond() + "." + timestamp.toInstant().getNano();
+            String raw = sort.token + "|" + ts + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token, SortKey sort) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", -1);
+                if (parts.length != 3 || !parts[0].equals(sort.token)) {
+                    throw new IllegalArgumentException("cursor does not belong to this listing");
+                }
+                OffsetDateTime ts = null;
+                if (!"-".equals(parts[1])) {
+                    String[] secNanos = parts[1].split("\\.", -1);
+                    ts = Instant.ofEpochSecond(Long.parseLong(secNanos[0]), Long.parseLong(secNanos[1]))
+                            .atOffset(ZoneOffset.UTC);
+                }
+                return new Cursor(ts, UUID.fromString(parts[2]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("invalid cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consistency repair for the denormalized latest-sentiment columns on articles.
+ *
+ * SentimentWriter keeps Article.sentimentLabel/Score/AnalyzedAt in step on every write; this job catches drift
+ * from anything that bypassed it (manual SQL, rows from before the columns existed) by
+ * re-copying each article's latest sentiment row.
+ *
+ * Notes:
+ *  - Walks article ids in keyset order, one batch per transaction, with a single UPDATE per batch that only
+ *    touches rows that actually differ.
+ *  - Runs on sentiment.denormalized.repair-cron (nightly by default) and once at startup when
+ *    sentiment.denormalized.repair-on-startup=true (fills the columns after upgrading), both on its own thread
+ *    (BackgroundJobRunner) so neither the scheduler thread nor startup waits for it.
+ *  - A run that fixed rows reloads RecentArticlesFeed at the end. That also orders the startup repair before
+ *    the hot feed's data: whichever of the two ApplicationReadyEvent listeners goes first, the feed ends up
+ *    holding the repaired rows.
+ */
+@Component
+public class ArticleSentimentRepair {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleSentimentRepair.class);
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FeedVersion feedVersion;
+    private final RecentArticlesFeed recentFeed;
+    private final BackgroundJobRunner runner = new BackgroundJobRunner("sentiment-repair");
+
+    @Value("${sentiment.denormalized.repair-on-startup:false}")
+    private boolean runOnStartup;
+
+    @Value("${sentiment.denormalized.repair-batch-size:500}")
+    private int batchSize;
+
+    @Value("${sentiment.denormalized.repair-pause-ms:20}")
+    private long pauseMs;
+
+    public ArticleSentimentRepair(ArticleRepository articleRepository, PlatformTransactionManager transactionManager,
+                                  FeedVersion feedVersion, RecentArticlesFeed recentFeed) {
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.feedVersion = feedVersion;
+        this.recentFeed = recentFeed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (runOnStartup) runner.trigger(this::repair);
+    }
+
+    @Scheduled(cron = "${sentiment.denormalized.repair-cron:0 30 3 * * *}")
+    public void scheduledRepair() {
+        runner.trigger(this::repair);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdown();
+    }
+
+    /**
+     * Re-sync every article's latest-sentiment columns. Returns the number of articles that had drifted.
+     */
+    public long repair() {
+        UUID after = MIN_UUID;
+        long repaired = 0;
+        long scanned = 0;
+
+        try {
+            while (true) {
+                List<UUID> ids = articleRepository.findIdsAfter(after, batchSize);
+                if (ids.isEmpty()) break;
+
+                // updated_at from the app clock, like Article's lifecycle hook: one clock for change-feed cursors
+                OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                Integer fixed = transactionTemplate.execute(status -> articleRepository.repairLatestSentiment(ids, now));
+                if (fixed != null && fixed > 0) feedVersion.bump(); // bulk SQL: no LatestSentimentChanged events
+                repaired += fixed != null ? fixed : 0;
+                scanned += ids.size();
+                after = ids.get(ids.size() - 1);
+
+                if (pauseMs > 0) Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Latest-sentiment repair interrupted after {} articles", scanned);
+            return refreshFeed(repaired);
+        } catch (Exception e) {
+            log.warn("Latest-sentiment repair stopped after {} articles: {}", scanned, e.getMessage(), e);
+            return refreshFeed(repaired);
+        }
+
+        if (repaired > 0) {
+            log.info("Latest-sentiment repair: {} articles scanned, {} out of step and fixed", scanned, repaired);
+        } else {
+            log.debug("Latest-sentiment repair: {} articles scanned, all in step", scanned);
+        }
+        return refreshFeed(repaired);
+    }
+
+    // the hot feed still holds the drifted values: reload it, then bump again so no ETag handed out during the
+    // run stays valid for the reloaded feed
+    private long refreshFeed(long repaired) {
+        if (repaired > 0) {
+            recentFeed.reload();
+            feedVersion.bump();
+        }
+        return repaired;
+    }
+}
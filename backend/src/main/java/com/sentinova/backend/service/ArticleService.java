@@ -1,6 +1,7 @@
 package com.sentinova.backend.service;
 
 import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleKeys;
 import com.sentinova.backend.repository.ArticleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,7 +12,16 @@ import org.springframework.util.StringUtils;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Service responsible for upserting articles fetched from remote providers.
@@ -19,6 +29,7 @@ import java.util.Optional;
  * Notes:
  *  - This class accepts an incoming imageUrl and will persist it if it is a valid http/https URL.
  *  - It will not overwrite an existing DB imageUrl with an invalid incoming URL.
+ *  - upsertAllFromRemote is the batch path used by the pollers (bulk lookups + JDBC-batched writes).
  */
 @Service
 public class ArticleService {
@@ -72,11 +83,9 @@ public class ArticleService {
             String imageUrl
     ) {
         // Normalize input strings (trim)
-        String normalizedRemoteUrl = StringUtils.hasText(remoteUrl) ? remoteUrl.trim() : null;
-        String normalizedImageUrl = StringUtils.hasText(imageUrl) ? imageUrl.trim() : null;
-        String normalizedTitle = StringUtils.hasText(title) ? title.trim() : null;
-        String normalizedSource = StringUtils.hasText(source) ? source.trim() : null;
-        String normalizedCategory = StringUtils.hasText(category) ? category.trim() : null;
+        String normalizedRemoteUrl = trimToNull(remoteUrl);
+        String normalizedTitle = trimToNull(title);
+        String normalizedSource = trimToNull(source);
 
         // prefer to match by URL when valid
         Article article = null;
@@ -87,18 +96,160 @@ public class ArticleService {
             }
         }
 
-        // fallback: try to find by title+source (avoid duplicates)
+        // fallback: try to find by title+source (avoid duplicates) via the indexed dedup key
         if (article == null && normalizedTitle != null && normalizedSource != null) {
-            Optional<Article> byTitle = articleRepository.findAll()
-                    .stream()
-                    .filter(a -> normalizedTitle.equalsIgnoreCase(a.getTitle()) && normalizedSource.equalsIgnoreCase(a.getSource()))
-                    .findFirst();
+            Optional<Article> byTitle = articleRepository.findFirstByDedupKey(ArticleKeys.dedupKey(normalizedTitle, normalizedSource));
             if (byTitle.isPresent()) article = byTitle.get();
         }
 
         // final fallback: create new
         if (article == null) article = new Article();
 
+        applyRemote(article, remoteUrl, title, source, category, summary, content, publishedAt, imageUrl);
+
+        // always set latest fetchedAt
+        OffsetDateTime fetched = fetchedAt != null ? fetchedAt : OffsetDateTime.now();
+        article.setFetchedAt(fetched);
+        article.setLastSeenAt(fetched);
+
+        // ensure we persist
+        Article saved = articleRepository.save(article);
+        log.debug("Upserted article (id={}, title='{}', url={})", saved.getId(), saved.getTitle(), saved.getUrl());
+        return saved;
+    }
+
+    /**
+     * Batch variant of upsertFromRemote for poll results.
+     *
+     * Resolves every incoming URL with a single IN query (plus at most one dedup-key lookup for items that
+     * did not match by URL), applies the same field rules as the single-article path and flushes all
+     * new/changed entities in one transaction. New articles go out as JDBC batches
+     * (see spring.jpa.properties.hibernate.jdbc.batch_size); changed ones are one UPDATE each, since Hibernate
+     * does not batch @DynamicUpdate statements (see Article).
+     *
+     * Duplicates inside the batch (same URL, or same title+source) collapse onto one entity.
+     *
+     * Existing articles whose content fingerprint (title/summary/content/image, see ArticleKeys.contentHash)
+     * would not change are reported as unchanged. The fingerprint is computed from the incoming fields before
+     * anything is copied, so unchanged entities are never modified (no dirty flush, no updated_at bump from
+     * fields outside the hash such as a defaulted publishedAt); only their last_seen_at is bumped with a single
+     * bulk UPDATE, and callers should skip re-analysis for them.
+     */
+    @Transactional
+    public BatchUpsertResult upsertAllFromRemote(List<RemoteArticleDto> remoteArticles, OffsetDateTime fetchedAt) {
+        BatchUpsertResult result = new BatchUpsertResult();
+        if (remoteArticles == null || remoteArticles.isEmpty()) return result;
+
+        OffsetDateTime fetched = fetchedAt != null ? fetchedAt : OffsetDateTime.now();
+
+        // 1) one round trip for all valid URLs in the batch
+        Set<String> urls = new LinkedHashSet<>();
+        for (RemoteArticleDto r : remoteArticles) {
+            String url = r != null ? trimToNull(r.getUrl()) : null;
+            if (url != null && isValidExternalUrl(url)) urls.add(url);
+        }
+        Map<String, Article> byUrl = new HashMap<>();
+        if (!urls.isEmpty()) {
+            for (Article a : articleRepository.findByUrlIn(urls)) {
+                byUrl.put(a.getUrl(), a);
+            }
+        }
+
+        // 2) one round trip for the title+source fallback of items not matched by URL (indexed dedup key)
+        Set<String> unmatchedKeys = new LinkedHashSet<>();
+        for (RemoteArticleDto r : remoteArticles) {
+            if (r == null) continue;
+            String url = trimToNull(r.getUrl());
+            String key = titleSourceKey(r.getTitle(), r.getSource());
+            if ((url == null || !byUrl.containsKey(url)) && key != null) {
+                unmatchedKeys.add(key);
+            }
+        }
+        Map<String, Article> byTitleSource = new HashMap<>();
+        if (!unmatchedKeys.isEmpty()) {
+            for (Article a : articleRepository.findByDedupKeyIn(unmatchedKeys)) {
+                byTitleSource.putIfAbsent(a.getDedupKey(), a);
+            }
+        }
+
+        // 3) apply field rules in memory, collapsing duplicates inside the batch. An existing article is only
+        //    modified once some incoming item actually changes its fingerprint.
+        List<Article> touched = new ArrayList<>();
+        Set<Article> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Article> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RemoteArticleDto r : remoteArticles) {
+            if (r == null) continue;
+
+            String url = trimToNull(r.getUrl());
+            boolean validUrl = url != null && isValidExternalUrl(url);
+            String key = titleSourceKey(r.getTitle(), r.getSource());
+
+            Article article = validUrl ? byUrl.get(url) : null;
+            if (article == null && key != null) article = byTitleSource.get(key);
+            if (article == null) article = new Article();
+            if (seen.add(article)) touched.add(article);
+
+            if (article.getId() != null && !changed.contains(article)
+                    && incomingContentHash(article, r).equals(article.getContentHash())) {
+                continue; // same content as stored: leave the managed entity untouched
+            }
+            if (article.getId() != null) changed.add(article);
+
+            applyRemote(article, r.getUrl(), r.getTitle(), r.getSource(), r.getCategory(),
+                    r.getSummary(), r.getContent(), r.getPublishedAt(), r.getImageUrl());
+
+            if (article.getUrl() != null) byUrl.put(article.getUrl(), article);
+            String savedKey = titleSourceKey(article.getTitle(), article.getSource());
+            if (savedKey != null) byTitleSource.put(savedKey, article);
+        }
+
+        // 4) classify: new / changed / unchanged
+        List<Article> toSave = new ArrayList<>();
+        List<UUID> unchangedIds = new ArrayList<>();
+        for (Article article : touched) {
+            if (article.getId() == null) {
+                result.created.add(article);
+            } else if (!changed.contains(article)) {
+                // nothing visible changed: only bump last_seen_at (bulk update below), no entity write
+                result.unchanged.add(article);
+                unchangedIds.add(article.getId());
+                continue;
+            } else {
+                result.updated.add(article);
+            }
+            article.setFetchedAt(fetched);
+            article.setLastSeenAt(fetched);
+            toSave.add(article);
+        }
+
+        // 5) single flush; inserts go out as JDBC batches, unchanged rows get one UPDATE statement
+        if (!toSave.isEmpty()) articleRepository.saveAll(toSave);
+        if (!unchangedIds.isEmpty()) articleRepository.touchLastSeen(unchangedIds, fetched);
+
+        log.debug("Batch upserted {} articles (created={}, updated={}, unchanged={})", touched.size(),
+                result.created.size(), result.updated.size(), result.unchanged.size());
+        return result;
+    }
+
+    /**
+     * Copy remote fields onto an Article (new or existing) without overwriting good data with blanks
+     * or placeholder URLs. Shared by the single and batch upsert paths.
+     */
+    private void applyRemote(Article article,
+                             String remoteUrl,
+                             String title,
+                             String source,
+                             String category,
+                             String summary,
+                             String content,
+                             OffsetDateTime publishedAt,
+                             String imageUrl) {
+        String normalizedRemoteUrl = trimToNull(remoteUrl);
+        String normalizedImageUrl = trimToNull(imageUrl);
+        String normalizedTitle = trimToNull(title);
+        String normalizedSource = trimToNull(source);
+        String normalizedCategory = trimToNull(category);
+
         // Only set URL if remote URL is valid OR currently unset (but do NOT set placeholder)
         if (normalizedRemoteUrl != null && isValidExternalUrl(normalizedRemoteUrl)) {
             article.setUrl(normalizedRemoteUrl);
@@ -117,8 +268,6 @@ public class ArticleService {
         if (StringUtils.hasText(content)) article.setContent(content);
 
         if (publishedAt != null) article.setPublishedAt(publishedAt);
-        // always set latest fetchedAt
-        article.setFetchedAt(fetchedAt != null ? fetchedAt : OffsetDateTime.now());
 
         // Set imageUrl only if it's a valid external URL (avoid placeholders)
         if (normalizedImageUrl != null) {
@@ -130,11 +279,20 @@ public class ArticleService {
                 // intentional: do not overwrite existing DB imageUrl with an invalid incoming url
             }
         }
+    }
 
-        // ensure we persist
-        Article saved = articleRepository.save(article);
-        log.debug("Upserted article (id={}, title='{}', url={})", saved.getId(), saved.getTitle(), saved.getUrl());
-        return saved;
+    /**
+     * Content fingerprint the article would have after applyRemote(), computed without modifying it.
+     * Mirrors applyRemote's rules for the hashed fields (title, summary, content, imageUrl).
+     */
+    private String incomingContentHash(Article current, RemoteArticleDto r) {
+        String title = trimToNull(r.getTitle());
+        String imageUrl = trimToNull(r.getImageUrl());
+        return ArticleKeys.contentHash(
+                title != null ? title : current.getTitle(),
+                StringUtils.hasText(r.getSummary()) ? r.getSummary() : current.getSummary(),
+                StringUtils.hasText(r.getContent()) ? r.getContent() : current.getContent(),
+                imageUrl != null && isValidExternalUrl(imageUrl) ? imageUrl : current.getImageUrl());
     }
 
     /**
@@ -159,4 +317,32 @@ public class ArticleService {
     public Optional<Article> findById(java.util.UUID id) {
         return articleRepository.findById(id);
     }
+
+    private static String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    /**
+     * Dedup key for a title+source pair, or null when either part is missing (no fallback lookup then).
+     */
+    private static String titleSourceKey(String title, String source) {
+        String t = trimToNull(title);
+        String s = trimToNull(source);
+        if (t == null || s == null) return null;
+        return ArticleKeys.dedupKey(t, s);
+    }
+
+    /**
+     * Outcome of a batch upsert: which articles were inserted, which existing rows changed and which
+     * were seen again with identical content.
+     */
+    public static class BatchUpsertResult {
+        private final List<Article> created = new ArrayList<>();
+        private final List<Article> updated = new ArrayList<>();
+        private final List<Article> unchanged = new ArrayList<>();
+
+        public List<Article> getCreated() { return created; }
+        public List<Article> getUpdated() { return updated; }
+        public List<Article> getUnchanged() { return unchanged; }
+    }
 }
@@ -0,0 +1,190 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fan-out of live article events to SSE subscribers (GET /api/articles/stream).
+ *
+ * Notes:
+ *  - Sources: every article NewsPollingService publishes (created or changed; event "article", ArticleCard JSON)
+ *    and every committed latest-sentiment change (event "sentiment", SentimentWriter.LatestSentimentChanged).
+ *  - Each event is serialized once; all subscribers share the same ServerSentEvent instance.
+ *  - Every subscriber has its own bounded buffer (articles.stream.subscriber-buffer). A client that falls that
+ *    far behind is evicted: it receives what is buffered, then the stream completes and the browser reconnects
+ *    with Last-Event-ID. Publishing never blocks on a slow client.
+ *  - The last articles.stream.replay-size events are kept; a reconnect with Last-Event-ID ("<boot>-<seq>")
+ *    replays what it missed. When that is no longer possible (older than the history, or issued before a
+ *    restart) the client gets a "reset" event and should refetch /api/articles/recent.
+ *  - Heartbeat comments every articles.stream.heartbeat-ms from one shared timer keep proxies from closing idle
+ *    streams and surface dead connections (the failed write cancels the subscription).
+ *  - Metrics: articles.stream.subscribers, articles.stream.events, articles.stream.evictions.
+ */
+@Component
+public class ArticleStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleStreamHub.class);
+
+    private static final ServerSentEvent<String> HEARTBEAT = ServerSentEvent.<String>builder().comment("heartbeat").build();
+
+    private final ObjectMapper objectMapper;
+    private final String bootPrefix = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Flux<ServerSentEvent<String>> heartbeats;
+    private final Counter published;
+    private final Counter evicted;
+    private final Disposable upstream;
+
+    // replay history, slot seq % length; guarded by itself together with nextSeq and subscriber offers
+    private final ServerSentEvent<String>[] history;
+    private long nextSeq = 1;
+
+    @SuppressWarnings("unchecked")
+    public ArticleStreamHub(NewsPollingService newsPollingService,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${articles.stream.replay-size:512}") int replaySize,
+                            @Value("${articles.stream.subscriber-buffer:64}") int bufferSize,
+                            @Value("${articles.stream.heartbeat-ms:15000}") long heartbeatMs,
+                            @Value("${articles.stream.max-subscribers:10000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.history = new ServerSentEvent[Math.max(1, replaySize)];
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeats = Flux.interval(Duration.ofMillis(Math.max(1, heartbeatMs))).map(tick -> HEARTBEAT).share();
+
+        Gauge.builder("articles.stream.subscribers", subscribers, Set::size)
+                .description("Open SSE subscriptions").register(meterRegistry);
+        this.published = Counter.builder("articles.stream.events")
+                .description("Events published to SSE subscribers").register(meterRegistry);
+        this.evicted = Counter.builder("articles.stream.evictions")
+                .description("SSE subscribers dropped for falling too far behind").register(meterRegistry);
+
+        this.upstream = newsPollingService.getFlux().subscribe(
+                article -> publish("article", ArticleCard.of(article)),
+                e -> log.warn("Article stream source failed: {}", e.getMessage(), e));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLatestSentimentChanged(SentimentWriter.LatestSentimentChanged event) {
+        publish("sentiment", event);
+    }
+
+    /**
+     * Live events for one client, after replaying whatever it missed since lastEventId (null: live only).
+     */
+    public Flux<ServerSentEvent<String>> subscribe(String lastEventId) {
+        return Flux.defer(() -> {
+            Subscriber s = new Subscriber();
+            List<ServerSentEvent<String>> replay;
+            // snapshot + registration under the publish lock: no event is both replayed and delivered live, none is lost
+            synchronized (history) {
+                replay = replayAfter(lastEventId);
+                subscribers.add(s);
+            }
+            Flux<ServerSentEvent<String>> events = Flux.concat(Flux.fromIterable(replay), s.sink.asFlux())
+                    .doOnTerminate(() -> s.closed.tryEmitEmpty());
+            return Flux.merge(events, heartbeats.onBackpressureDrop().takeUntilOther(s.closed.asMono()))
+                    .doFinally(signal -> subscribers.remove(s));
+        });
+    }
+
+    public boolean isFull() {
+        return subscribers.size() >= maxSubscribers;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    void publish(String name, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} stream event: {}", name, e.getMessage());
+            return;
+        }
+        synchronized (history) {
+            long seq = nextSeq++;
+            ServerSentEvent<String> event = ServerSentEvent.builder(json).id(bootPrefix + "-" + seq).event(name).build();
+            history[(int) (seq % history.length)] = event;
+            for (Subscriber s : subscribers) s.offer(event);
+        }
+        published.increment();
+    }
+
+    // called with the history lock held
+    private List<ServerSentEvent<String>> replayAfter(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return List.of();
+
+        long last = -1;
+        String[] parts = lastEventId.trim().split("-", 2);
+        if (parts.length == 2 && parts[0].equals(bootPrefix)) {
+            try {
+                last = Long.parseLong(parts[1]);
+            } catch (NumberFormatException ignored) {
+                // not one of ours: reset below
+            }
+        }
+        long oldest = Math.max(1, nextSeq - history.length);
+        if (last < oldest - 1 || last >= nextSeq) {
+            // gap we cannot fill: tell the client to reload, and give it an id to resume from next time
+            return List.of(ServerSentEvent.builder("{}").id(bootPrefix + "-" + (nextSeq - 1)).event("reset").build());
+        }
+        List<ServerSentEvent<String>> out = new ArrayList<>((int) (nextSeq - 1 - last));
+        for (long seq = last + 1; seq < nextSeq; seq++) out.add(history[(int) (seq % history.length)]);
+        return out;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        upstream.dispose();
+        synchronized (history) {
+            for (Subscriber s : subscribers) s.sink.tryEmitComplete();
+            subscribers.clear();
+        }
+    }
+
+    private final class Subscriber {
+        final Sinks.Many<ServerSentEvent<String>> sink =
+                Sinks.many().unicast().onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(bufferSize).get());
+        final Sinks.Empty<Void> closed = Sinks.empty();
+
+        // called with the history lock held, so emissions into the unicast sink are serialized
+        void offer(ServerSentEvent<String> event) {
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                subscribers.remove(this);
+                sink.tryEmitComplete(); // buffered events still go out, then the client reconnects and replays
+                evicted.increment();
+            } else if (result.isFailure()) {
+                subscribers.remove(this);
+            }
+        }
+    }
+}
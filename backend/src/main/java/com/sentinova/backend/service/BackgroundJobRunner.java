@@ -0,0 +1,63 @@
+package com.sentinova.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Own daemon thread for a long maintenance job (re-score, repair, compaction), so its @Scheduled or startup
+ * trigger returns at once instead of holding the shared scheduler thread (news polling, change-feed wake-ups)
+ * or the startup thread for minutes. A trigger while the previous run is still going is skipped.
+ */
+final class BackgroundJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundJobRunner.class);
+
+    private final String name;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    BackgroundJobRunner(String name) {
+        this.name = name;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Run job on the job thread unless a run is in progress. Returns the run, or null when skipped.
+     */
+    Future<?> trigger(Runnable job) {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("{} still running, skipping this trigger", name);
+            return null;
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    job.run();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false); // shutting down
+            return null;
+        }
+    }
+
+    boolean isRunning() {
+        return running.get();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,396 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.*;
+import edu.stanford.nlp.sentiment.SentimentCoreAnnotations;
+import edu.stanford.nlp.util.CoreMap;
+import edu.stanford.nlp.util.RuntimeInterruptedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Full-parse sentiment engine: Stanford CoreNLP tokenize,ssplit,parse,sentiment.
+ *
+ * Notes:
+ *  - One StanfordCoreNLP instance (models loaded once) is shared by a pool of annotator threads; annotate()
+ *    is thread-safe, so N threads cost N parses in flight, not N copies of the models.
+ *  - sentiment.nlp.threads caps concurrent parses (0 = one per CPU core); up to sentiment.nlp.max-queued
+ *    more wait in line, beyond that callers block until a slot frees up.
+ *  - Metrics: sentiment.nlp.queue.wait (submit -> start), sentiment.nlp.annotate (parse time),
+ *    sentiment.nlp.active / sentiment.nlp.queued gauges.
+ *  - Parse cost is capped per document: sentences are split first (cheap tokenize,ssplit pipeline), then at
+ *    most sentiment.nlp.max-sentences of them are parsed (evenly spaced sample, first and last always kept)
+ *    and each is cut to sentiment.nlp.max-sentence-tokens tokens, since parse time grows super-linearly with
+ *    sentence length. A parse running longer than sentiment.nlp.time-budget-ms is interrupted and the
+ *    document is scored by the lexicon instead. Counters: sentiment.nlp.limits{limit=...}.
+ *  - Models are loaded by warmUp(), which SentimentService runs on a background thread once the application
+ *    is ready (only when CoreNLP is the selected engine). Until then analyze() throws
+ *    SentimentNotReadyException; background callers can block on awaitReady().
+ */
+@Component
+public class CoreNlpSentimentEngine implements SentimentEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CoreNlpSentimentEngine.class);
+
+    private final Properties splitterProps;
+    private final Properties pipelineProps;
+    private final String pipelineSignature;
+    private final CompletableFuture<StanfordCoreNLP> pipelineFuture = new CompletableFuture<>();
+    private volatile StanfordCoreNLP splitter;
+    private volatile StanfordCoreNLP pipeline;
+    private volatile long loadMillis = -1;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor annotators;
+    private final Timer queueWait;
+    private final Timer annotateTime;
+
+    private final LexiconSentimentEngine fallback;
+    private final int maxSentences;
+    private final int maxSentenceTokens;
+    private final long timeBudgetMs;
+    private final ScheduledExecutorService watchdog;
+    private final Counter sentencesTruncated;
+    private final Counter documentsSampled;
+    private final Counter budgetFallbacks;
+
+    public CoreNlpSentimentEngine(MeterRegistry meterRegistry,
+                                  LexiconSentimentEngine fallback,
+                                  @Value("${sentiment.nlp.threads:0}") int threads,
+                                  @Value("${sentiment.nlp.max-queued:200}") int maxQueued,
+                                  @Value("${sentiment.nlp.retry-after-seconds:15}") long retryAfterSeconds,
+                                  @Value("${sentiment.nlp.max-sentences:12}") int maxSentences,
+                                  @Value("${sentiment.nlp.max-sentence-tokens:60}") int maxSentenceTokens,
+                                  @Value("${sentiment.nlp.time-budget-ms:2000}") long timeBudgetMs) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.fallback = fallback;
+        this.maxSentences = maxSentences;
+        this.maxSentenceTokens = maxSentenceTokens;
+        this.timeBudgetMs = timeBudgetMs;
+
+        // CoreNLP pipeline config; the models themselves are loaded by warmUp().
+        // Split first, apply the limits, then parse only what is left (enforceRequirements off for that stage).
+        Properties split = new Properties();
+        split.setProperty("annotators", "tokenize,ssplit");
+        this.splitterProps = split;
+        Properties props = new Properties();
+        props.setProperty("annotators", "parse,sentiment");
+        this.pipelineProps = props;
+        this.pipelineSignature = signature(split, props) + ";maxSentences=" + maxSentences
+                + ";maxSentenceTokens=" + maxSentenceTokens + ";budgetMs=" + timeBudgetMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.annotators = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueued)),
+                annotatorThreadFactory(),
+                blockCaller());
+
+        this.queueWait = Timer.builder("sentiment.nlp.queue.wait")
+                .description("Time an analysis waited for a free CoreNLP annotator thread")
+                .register(meterRegistry);
+        this.annotateTime = Timer.builder("sentiment.nlp.annotate")
+                .description("CoreNLP annotate() time per document")
+                .register(meterRegistry);
+        Gauge.builder("sentiment.nlp.active", annotators, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("sentiment.nlp.queued", annotators, e -> e.getQueue().size()).register(meterRegistry);
+        this.sentencesTruncated = limitCounter(meterRegistry, "sentence_length", "Sentences cut to max-sentence-tokens");
+        this.documentsSampled = limitCounter(meterRegistry, "sentence_count", "Documents reduced to max-sentences");
+        this.budgetFallbacks = limitCounter(meterRegistry, "time_budget", "Parses interrupted by the time budget (lexicon score used)");
+
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "corenlp-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.info("CoreNLP engine created: annotatorThreads={}, maxQueued={} (models load after startup)", poolSize, maxQueued);
+    }
+
+    /**
+     * Load the pipeline synchronously (no-op if already loaded). Also parses one sentence so lazily
+     * initialized model structures are touched before the first real request.
+     */
+    @Override
+    public synchronized void warmUp() {
+        if (pipelineFuture.isDone()) return;
+        long start = System.nanoTime();
+        try {
+            StanfordCoreNLP loadedSplitter = new StanfordCoreNLP(splitterProps);
+            StanfordCoreNLP loaded = new StanfordCoreNLP(pipelineProps, false);
+            splitter = loadedSplitter;
+            pipeline = loaded;
+            annotate("Warm up the sentiment model.");
+            loadMillis = (System.nanoTime() - start) / 1_000_000;
+            pipelineFuture.complete(loaded);
+            log.info("CoreNLP models loaded in {} ms", loadMillis);
+        } catch (RuntimeException | Error e) {
+            log.error("CoreNLP models failed to load: {}", e.getMessage(), e);
+            pipelineFuture.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "corenlp";
+    }
+
+    @Override
+    public ModelState getModelState() {
+        if (!pipelineFuture.isDone()) return ModelState.LOADING;
+        return pipelineFuture.isCompletedExceptionally() ? ModelState.FAILED : ModelState.READY;
+    }
+
+    public boolean isReady() {
+        return getModelState() == ModelState.READY;
+    }
+
+    /**
+     * Model load time in ms, or -1 while loading / after a failure.
+     */
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * Block until the models are loaded. Throws SentimentNotReadyException if loading failed.
+     */
+    @Override
+    public void awaitReady() throws InterruptedException {
+        try {
+            pipelineFuture.get();
+        } catch (ExecutionException e) {
+            throw new SentimentNotReadyException("sentiment model failed to load: " + e.getCause().getMessage(), retryAfterSeconds);
+        }
+    }
+
+    @Override
+    public SentimentResult analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return new SentimentResult("Neutral", 0.5); // default neutral
+        }
+        return await(submit(text));
+    }
+
+    /**
+     * Parse several texts in parallel on the annotator pool. Results are in input order.
+     */
+    @Override
+    public List<SentimentResult> analyzeAll(List<String> texts) {
+        List<Future<SentimentResult>> pending = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            pending.add(text == null || text.isBlank()
+                    ? CompletableFuture.completedFuture(new SentimentResult("Neutral", 0.5))
+                    : submit(text));
+        }
+        List<SentimentResult> results = new ArrayList<>(texts.size());
+        for (Future<SentimentResult> f : pending) results.add(await(f));
+        return results;
+    }
+
+    /**
+     * Identifies the pipeline configuration for cache keys; any props change invalidates cached results.
+     */
+    @Override
+    public String getSignature() {
+        return pipelineSignature;
+    }
+
+    public int getAnnotatorThreads() {
+        return annotators.getMaximumPoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        annotators.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    private Future<SentimentResult> submit(String text) {
+        if (!pipelineFuture.isDone() || pipelineFuture.isCompletedExceptionally()) {
+            throw new SentimentNotReadyException(getModelState() == ModelState.FAILED
+                    ? "sentiment model failed to load" : "sentiment model is still loading", retryAfterSeconds);
+        }
+        long queuedAt = System.nanoTime();
+        return annotators.submit(() -> {
+            queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            return annotateTime.record(() -> annotateWithinBudget(text));
+        });
+    }
+
+    private static SentimentResult await(Future<SentimentResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for sentiment analysis", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("sentiment analysis failed", cause);
+        }
+    }
+
+    private static String signature(Properties... stages) {
+        StringBuilder sb = new StringBuilder("corenlp");
+        for (Properties props : stages) {
+            sb.append(':').append(props.stringPropertyNames().stream()
+                    .sorted()
+                    .map(k -> k + "=" + props.getProperty(k))
+                    .collect(Collectors.joining(";")));
+        }
+        return sb.toString();
+    }
+
+    private static Counter limitCounter(MeterRegistry registry, String limit, String description) {
+        return Counter.builder("sentiment.nlp.limits").tag("limit", limit).description(description).register(registry);
+    }
+
+    private static ThreadFactory annotatorThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "corenlp-annotator-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // Full queue: block the submitting thread until there is room (concurrency limit, no dropped analyses)
+    private static RejectedExecutionHandler blockCaller() {
+        return (task, pool) -> {
+            if (pool.isShutdown()) throw new RejectedExecutionException("annotator pool is shut down");
+            try {
+                pool.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("interrupted while waiting for an annotator slot", e);
+            }
+        };
+    }
+
+    /**
+     * Runs on an annotator thread. A watchdog interrupts the parse once the budget is spent; CoreNLP's parser
+     * checks the interrupt flag and aborts with RuntimeInterruptedException, and we fall back to the lexicon.
+     * The fallback is marked degraded so it is neither cached nor stamped as a full parse.
+     */
+    private SentimentResult annotateWithinBudget(String text) {
+        if (timeBudgetMs <= 0) return annotate(text);
+
+        Thread worker = Thread.currentThread();
+        Object guard = new Object();
+        boolean[] done = {false};
+        ScheduledFuture<?> timer = watchdog.schedule(() -> {
+            synchronized (guard) {
+                if (!done[0]) worker.interrupt();
+            }
+        }, timeBudgetMs, TimeUnit.MILLISECONDS);
+
+        try {
+            return annotate(text);
+        } catch (RuntimeInterruptedException e) {
+            budgetFallbacks.increment();
+            log.debug("CoreNLP parse exceeded {} ms budget, using lexicon score ({} chars)", timeBudgetMs, text.length());
+            SentimentResult lexicon = fallback.analyze(text);
+            return new SentimentResult(lexicon.getLabel(), lexicon.getScore(), true);
+        } finally {
+            synchronized (guard) {
+                done[0] = true;
+            }
+            timer.cancel(false);
+            Thread.interrupted(); // clear a late interrupt so the pool thread stays usable
+        }
+    }
+
+    private SentimentResult annotate(String text) {
+        Annotation doc = new Annotation(text);
+        splitter.annotate(doc);
+
+        List<CoreMap> sentences = limitSentences(doc.get(CoreAnnotations.SentencesAnnotation.class));
+        doc.set(CoreAnnotations.SentencesAnnotation.class, sentences);
+        pipeline.annotate(doc);
+
+        int totalScore = 0;
+        int count = 0;
+
+        for (CoreMap sentence : sentences) {
+            String sentiment = sentence.get(SentimentCoreAnnotations.SentimentClass.class);
+            totalScore += mapSentimentToScore(sentiment);
+            count++;
+        }
+
+        int avgScore = count > 0 ? Math.round((float) totalScore / count) : 2;
+        String label = mapScoreToThreeClass(avgScore);
+        double normalized = avgScore / 4.0; // 0.0–1.0
+
+        return new SentimentResult(label, normalized);
+    }
+
+    /**
+     * Keep at most maxSentences sentences (evenly spaced, so the headline and the ending both count) and cut
+     * each to maxSentenceTokens tokens.
+     */
+    private List<CoreMap> limitSentences(List<CoreMap> sentences) {
+        if (sentences == null) return List.of();
+
+        List<CoreMap> selected = sentences;
+        if (maxSentences > 0 && sentences.size() > maxSentences) {
+            documentsSampled.increment();
+            selected = new ArrayList<>(maxSentences);
+            if (maxSentences == 1) {
+                selected.add(sentences.get(0));
+            } else {
+                int last = sentences.size() - 1;
+                for (int i = 0; i < maxSentences; i++) {
+                    selected.add(sentences.get((int) Math.round((double) i * last / (maxSentences - 1))));
+                }
+            }
+        }
+
+        if (maxSentenceTokens > 0) {
+            for (CoreMap sentence : selected) {
+                List<CoreLabel> tokens = sentence.get(CoreAnnotations.TokensAnnotation.class);
+                if (tokens != null && tokens.size() > maxSentenceTokens) {
+                    sentencesTruncated.increment();
+                    sentence.set(CoreAnnotations.TokensAnnotation.class, new ArrayList<>(tokens.subList(0, maxSentenceTokens)));
+                }
+            }
+        }
+        return selected;
+    }
+
+    private int mapSentimentToScore(String sentiment) {
+        if (sentiment == null) return 2;
+        switch (sentiment) {
+            case "Very negative": return 0;
+            case "Negative": return 1;
+            case "Neutral": return 2;
+            case "Positive": return 3;
+            case "Very positive": return 4;
+            default: return 2;
+        }
+    }
+
+    /**
+     * Map fine-grained (0–4) to coarse 3-class labels.
+     */
+    private String mapScoreToThreeClass(int score) {
+        if (score <= 1) return "Negative";
+        if (score == 2) return "Neutral";
+        return "Positive"; // 3 or 4
+    }
+}
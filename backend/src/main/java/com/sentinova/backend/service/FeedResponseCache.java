@@ -0,0 +1,124 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized (and pre-gzipped) response bodies for the popular feed shapes (count x sentiment filter x fields).
+ *
+ * Notes:
+ *  - One entry per shape for the current FeedVersion: a hit hands out the stored bytes, with no Jackson and no
+ *    deflate per request. Entries are dropped as soon as the version moves (poll commit, sentiment change);
+ *    the next request for a shape rebuilds it once (Caffeine loads per key, so concurrent misses do not pile up).
+ *  - Serialized with the application ObjectMapper, so bytes are identical to what MVC would have written.
+ *  - Metrics: cache.gets{cache=feed.responses,result=hit|miss}, feed.response.cache.hit.ratio,
+ *    feed.response.cache.serialization.bytes.saved (JSON bytes not re-serialized on hits) and
+ *    feed.response.cache.transfer.bytes.saved (bytes not sent thanks to the gzip variant).
+ *  - Toggle: articles.response-cache.enabled; shapes kept: articles.response-cache.max-entries.
+ */
+@Component
+public class FeedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final FeedVersion feedVersion;
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+    private final Counter serializationBytesSaved;
+    private final Counter transferBytesSaved;
+    private volatile long cachedVersion = -1;
+
+    public FeedResponseCache(ObjectMapper objectMapper,
+                             FeedVersion feedVersion,
+                             MeterRegistry meterRegistry,
+                             @Value("${articles.response-cache.enabled:true}") boolean enabled,
+                             @Value("${articles.response-cache.max-entries:256}") long maxEntries) {
+        this.objectMapper = objectMapper;
+        this.feedVersion = feedVersion;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "feed.responses");
+        Gauge.builder("feed.response.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of cacheable feed requests answered from stored bytes")
+                .register(meterRegistry);
+        this.serializationBytesSaved = Counter.builder("feed.response.cache.serialization.bytes.saved")
+                .baseUnit("bytes").description("JSON bytes served from the cache instead of being serialized again")
+                .register(meterRegistry);
+        this.transferBytesSaved = Counter.builder("feed.response.cache.transfer.bytes.saved")
+                .baseUnit("bytes").description("Bytes not sent because the pre-gzipped variant was served")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stored bodies of one serialized feed response.
+     */
+    public static final class Entry {
+        private final byte[] json;
+        private final byte[] gzip;
+
+        Entry(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Bytes for the shape at the current feed version; body is only called (and serialized) on a miss.
+     * gzip says which variant the caller will send, for the bytes-saved metrics.
+     */
+    public Entry get(String shape, Supplier<Object> body, boolean gzip) {
+        long version = feedVersion.get();
+        if (version != cachedVersion) {
+            // feed changed since the entries were built: drop them all
+            cache.invalidateAll();
+            cachedVersion = version;
+        }
+
+        boolean[] built = {false};
+        Entry entry = cache.get(version + "|" + shape, key -> {
+            built[0] = true;
+            return serialize(body.get());
+        });
+        if (!built[0]) serializationBytesSaved.increment(entry.json.length);
+        if (gzip) transferBytesSaved.increment(Math.max(0, entry.json.length - entry.gzip.length));
+        return entry;
+    }
+
+    private Entry serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(json);
+            }
+            return new Entry(json, out.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("feed response could not be serialized", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory streams; cannot happen
+        }
+    }
+}
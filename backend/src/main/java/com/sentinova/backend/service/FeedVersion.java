@@ -0,0 +1,66 @@
+package com.sentinova.backend.service;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of everything the article feeds serve, for conditional GETs (ETag / 304).
+ *
+ * Notes:
+ *  - Bumped by NewsPollingService when a poll creates or changes articles, on every committed latest-sentiment
+ *    change (SentimentWriter.LatestSentimentChanged) and by bulk SQL repairs (ArticleSentimentRepair).
+ *    Re-polls of unchanged articles only move lastSeenAt and deliberately do not bump it.
+ *  - The ETag carries a per-boot prefix so a restarted instance, whose counter starts again, never matches a
+ *    tag handed out before the restart.
+ *  - Reading it costs one volatile read; controllers check it before touching the DB.
+ *  - Its LatestSentimentChanged listener runs last (@Order), after RecentArticlesFeed has swapped in the new
+ *    snapshot: a request that sees the new ETag never gets (or caches) the old feed.
+ */
+@Component
+public class FeedVersion {
+
+    private final String bootPrefix = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModifiedMillis = System.currentTimeMillis();
+
+    public void bump() {
+        version.incrementAndGet();
+        lastModifiedMillis = System.currentTimeMillis();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLatestSentimentChanged(SentimentWriter.LatestSentimentChanged event) {
+        bump();
+    }
+
+    public long get() {
+        return version.get();
+    }
+
+    /**
+     * Strong ETag for the current version (quoted, ready for the header).
+     */
+    public String etag() {
+        return "\"" + bootPrefix + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Strong ETag for one encoding variant of a response (e.g. "gz"): different bytes need different tags.
+     */
+    public String etag(String variant) {
+        return "\"" + bootPrefix + "-" + version.get() + "-" + variant + "\"";
+    }
+
+    /**
+     * Time of the last bump (startup time before the first one). Not sent as Last-Modified: whole seconds cannot
+     * tell apart several bumps within one second, so the ETag is the only validator.
+     */
+    public long lastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+}
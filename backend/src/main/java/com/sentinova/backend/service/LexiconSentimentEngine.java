@@ -0,0 +1,297 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.ArticleKeys;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tier-one sentiment engine: valence lexicon with negation and intensifiers. Microseconds per document.
+ *
+ * Notes:
+ *  - The lexicon (classpath:sentiment/lexicon.tsv by default) is compiled at startup into an open-addressing
+ *    table keyed by the 64-bit FNV-1a hash of each lowercased word (long[] keys, float[] values, byte[] kinds).
+ *    Scoring hashes tokens while scanning the text, so it allocates nothing per token.
+ *  - Negators ("not", "never", "didn't", ...) flip and dampen valence words in the next 3 tokens of the
+ *    same clause; boosters ("very", "extremely", ...) scale the next valence word.
+ *  - score() also reports a confidence in [0, 1]: high when there is plenty of one-sided evidence, low for
+ *    no sentiment words or mixed signals. SentimentService uses it to decide whether a full parse is needed.
+ */
+@Component
+public class LexiconSentimentEngine implements SentimentEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LexiconSentimentEngine.class);
+
+    static final byte VALENCE = 1;
+    static final byte NEGATOR = 2;
+    static final byte BOOSTER = 3;
+
+    private static final char RIGHT_SINGLE_QUOTE = '\u2019'; // typographic apostrophe, as in didn't
+    private static final int NEGATION_SCOPE = 3;
+    private static final float NEGATION_FACTOR = -0.5f;
+    // VADER-style squashing of the raw valence sum into (-1, 1)
+    private static final double NORMALIZATION_ALPHA = 15.0;
+    private static final double LABEL_CUTOFF = 0.25;
+
+    private final LexiconTable table;
+    private final String signature;
+
+    public LexiconSentimentEngine(@Value("${sentiment.lexicon.location:classpath:sentiment/lexicon.tsv}") String location) {
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        StringBuilder raw = new StringBuilder();
+        this.table = load(resource, raw);
+        this.signature = "lexicon:" + ArticleKeys.sha256Hex(raw.toString()).substring(0, 16);
+        log.info("Sentiment lexicon loaded from {}: {} entries", location, table.size());
+    }
+
+    @Override
+    public String getName() {
+        return "lexicon";
+    }
+
+    @Override
+    public String getSignature() {
+        return signature;
+    }
+
+    @Override
+    public SentimentResult analyze(String text) {
+        return score(text).toResult();
+    }
+
+    /**
+     * Score a text and report how confident the lexicon is in the label.
+     */
+    public LexiconScore score(String text) {
+        if (text == null || text.isEmpty()) return new LexiconScore(0, 0, 0);
+
+        float pos = 0, neg = 0;
+        int matched = 0;
+        int negateLeft = 0;
+        float boost = 1f;
+
+        long hash = FNV_OFFSET;
+        boolean inWord = false;
+        int n = text.length();
+
+        for (int i = 0; i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (c == RIGHT_SINGLE_QUOTE) c = '\'';
+            boolean wordChar = Character.isLetterOrDigit(c) || (c == '\'' && inWord);
+
+            if (wordChar) {
+                hash = fnv(hash, Character.toLowerCase(c));
+                inWord = true;
+                continue;
+            }
+
+            if (inWord) {
+                int slot = table.find(hash);
+                if (slot < 0) {
+                    if (negateLeft > 0) negateLeft--;
+                } else {
+                    switch (table.kinds[slot]) {
+                        case NEGATOR -> negateLeft = NEGATION_SCOPE;
+                        case BOOSTER -> boost *= table.values[slot];
+                        default -> {
+                            float v = table.values[slot] * boost;
+                            if (negateLeft > 0) {
+                                v *= NEGATION_FACTOR;
+                                negateLeft--;
+                            }
+                            if (v > 0) pos += v; else neg -= v;
+                            matched++;
+                            boost = 1f;
+                        }
+                    }
+                }
+                hash = FNV_OFFSET;
+                inWord = false;
+            }
+
+            // clause boundary: negation and boosting do not carry over
+            if (c == '.' || c == '!' || c == '?' || c == ';' || c == ',') {
+                negateLeft = 0;
+                boost = 1f;
+            }
+        }
+        return new LexiconScore(pos, neg, matched);
+    }
+
+    int size() {
+        return table.size();
+    }
+
+    /**
+     * Lexicon verdict for one text.
+     */
+    public static final class LexiconScore {
+        private final double positive;
+        private final double negative;
+        private final int matchedWords;
+
+        LexiconScore(double positive, double negative, int matchedWords) {
+            this.positive = positive;
+            this.negative = negative;
+            this.matchedWords = matchedWords;
+        }
+
+        /**
+         * Net valence squashed into (-1, 1).
+         */
+        public double getCompound() {
+            double sum = positive - negative;
+            return sum / Math.sqrt(sum * sum + NORMALIZATION_ALPHA);
+        }
+
+        /**
+         * One-sidedness of the evidence times the amount of evidence; 0 when nothing matched.
+         */
+        public double getConfidence() {
+            double total = positive + negative;
+            if (total == 0) return 0;
+            double polarity = Math.abs(positive - negative) / total;
+            double evidence = 1 - Math.exp(-total / 4.0);
+            return polarity * evidence;
+        }
+
+        public String getLabel() {
+            double compound = getCompound();
+            if (compound >= LABEL_CUTOFF) return "Positive";
+            if (compound <= -LABEL_CUTOFF) return "Negative";
+            return "Neutral";
+        }
+
+        public int getMatchedWords() {
+            return matchedWords;
+        }
+
+        public SentimentResult toResult() {
+            return new SentimentResult(getLabel(), (getCompound() + 1) / 2.0); // 0.0–1.0 like the parser
+        }
+    }
+
+    // --- lexicon compilation ---
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static long fnv(long hash, char c) {
+        hash ^= (c & 0xff);
+        hash *= FNV_PRIME;
+        hash ^= (c >>> 8);
+        hash *= FNV_PRIME;
+        return hash;
+    }
+
+    static long hashWord(String word) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == RIGHT_SINGLE_QUOTE) c = '\'';
+            hash = fnv(hash, Character.toLowerCase(c));
+        }
+        return hash;
+    }
+
+    /**
+     * Lines: "word&lt;TAB&gt;valence" (-4..4), "word&lt;TAB&gt;!" (negator), "word&lt;TAB&gt;x1.5" (booster); '#' comments.
+     */
+    private static LexiconTable load(Resource resource, StringBuilder raw) {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                raw.append(line).append('\n');
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] parts = line.split("\t");
+                if (parts.length != 2) throw new IllegalArgumentException("bad lexicon line: " + line);
+
+                String spec = parts[1].strip();
+                byte kind;
+                float value;
+                if (spec.equals("!")) {
+                    kind = NEGATOR;
+                    value = 0f;
+                } else if (spec.startsWith("x")) {
+                    kind = BOOSTER;
+                    value = Float.parseFloat(spec.substring(1));
+                } else {
+                    kind = VALENCE;
+                    value = Float.parseFloat(spec);
+                }
+                entries.add(new Entry(hashWord(parts[0].strip()), value, kind));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read sentiment lexicon " + resource, e);
+        }
+
+        LexiconTable table = new LexiconTable(entries.size());
+        for (Entry e : entries) table.put(e.hash(), e.value(), e.kind());
+        return table;
+    }
+
+    private record Entry(long hash, float value, byte kind) {}
+
+    /**
+     * Open-addressing hash table (linear probing) from 64-bit word hash to (value, kind).
+     * Key 0 marks an empty slot; a word hashing to 0 is stored under 1.
+     */
+    static final class LexiconTable {
+        private final long[] keys;
+        final float[] values;
+        final byte[] kinds;
+        private final int mask;
+        private int size;
+
+        LexiconTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1; // load factor <= 0.5
+            keys = new long[capacity];
+            values = new float[capacity];
+            kinds = new byte[capacity];
+            mask = capacity - 1;
+        }
+
+        void put(long key, float value, byte kind) {
+            if (key == 0) key = 1;
+            int slot = spread(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) slot = (slot + 1) & mask;
+            if (keys[slot] == 0) size++;
+            keys[slot] = key; // later entries override earlier ones
+            values[slot] = value;
+            kinds[slot] = kind;
+        }
+
+        int find(long key) {
+            if (key == 0) key = 1;
+            int slot = spread(key) & mask;
+            while (true) {
+                long k = keys[slot];
+                if (k == key) return slot;
+                if (k == 0) return -1;
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private static int spread(long key) {
+            return (int) (key ^ (key >>> 32));
+        }
+    }
+}
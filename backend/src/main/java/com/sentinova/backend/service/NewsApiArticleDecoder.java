@@ -0,0 +1,248 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming decoder for NewsAPI responses: {"status":..,"totalResults":..,"articles":[{..},{..}]}.
+ *
+ * Notes:
+ *  - Walks the Jackson token stream and emits one RemoteArticleDto per article object as soon as that object
+ *    is decoded, instead of materializing the whole body as a Map / JsonNode tree. Memory stays flat
+ *    regardless of page size.
+ *  - decode(InputStream, ..) is for blocking callers (RestTemplate); decode(Flux&lt;DataBuffer&gt;, ..) feeds a
+ *    non-blocking parser chunk by chunk, so the first article is emitted before the last byte arrives.
+ *  - Values are copied as-is (no defaults, no filtering); callers apply their own rules.
+ */
+@Component
+public class NewsApiArticleDecoder {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Decode a blocking response body, handing each article to the consumer as it is read.
+     */
+    public ResponseInfo decode(InputStream body, Consumer<RemoteArticleDto> consumer) throws IOException {
+        DecoderState state = new DecoderState(null);
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            state.drain(parser, consumer);
+        }
+        return state.info;
+    }
+
+    /**
+     * Decode a streamed response body. onInfo (optional) receives the top-level status/totalResults as soon
+     * as the articles array starts, or at end of input for bodies without one (e.g. NewsAPI error bodies).
+     */
+    public Flux<RemoteArticleDto> decode(Flux<DataBuffer> body, Consumer<ResponseInfo> onInfo) {
+        return Flux.defer(() -> {
+            JsonParser parser;
+            try {
+                parser = jsonFactory.createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+            ByteArrayFeeder feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            DecoderState state = new DecoderState(onInfo);
+
+            Flux<RemoteArticleDto> articles = body
+                    .concatMapIterable(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+
+                        List<RemoteArticleDto> decoded = new ArrayList<>();
+                        try {
+                            feeder.feedInput(bytes, 0, bytes.length);
+                            state.drain(parser, decoded::add);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return decoded;
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+            Flux<RemoteArticleDto> tail = Flux.defer(() -> {
+                List<RemoteArticleDto> decoded = new ArrayList<>();
+                try {
+                    feeder.endOfInput();
+                    state.drain(parser, decoded::add);
+                } catch (IOException e) {
+                    return Flux.error(e);
+                }
+                state.publishInfo();
+                return Flux.fromIterable(decoded);
+            });
+
+            return articles.concatWith(tail).doFinally(signal -> {
+                try {
+                    parser.close();
+                } catch (IOException ignored) {}
+            });
+        });
+    }
+
+    /**
+     * Top-level fields of a NewsAPI response.
+     */
+    public static class ResponseInfo {
+        private String status;
+        private Integer totalResults;
+        private String code;
+        private String message;
+        private boolean articlesFound;
+
+        public String getStatus() { return status; }
+        public Integer getTotalResults() { return totalResults; }
+        public String getCode() { return code; }
+        public String getMessage() { return message; }
+        public boolean isArticlesFound() { return articlesFound; }
+
+        @Override
+        public String toString() {
+            return "ResponseInfo{status='" + status + "', totalResults=" + totalResults
+                    + (message != null ? ", code='" + code + "', message='" + message + "'" : "") + "}";
+        }
+    }
+
+    /**
+     * Token-driven state machine. Works for both blocking and non-blocking parsers: drain() stops at
+     * NOT_AVAILABLE (needs more input) and picks up where it left off on the next call.
+     *
+     * Depths: 1 = root object, 2 = articles array, 3 = article object, 4 = article.source object.
+     */
+    private static final class DecoderState {
+        private final Consumer<ResponseInfo> onInfo;
+        private final ResponseInfo info = new ResponseInfo();
+        private boolean infoPublished;
+
+        private int depth;
+        private boolean inArticles;
+        private boolean inSource;
+        private String rootField;
+        private String articleField;
+        private String sourceField;
+        private RemoteArticleDto current;
+
+        DecoderState(Consumer<ResponseInfo> onInfo) {
+            this.onInfo = onInfo;
+        }
+
+        void drain(JsonParser p, Consumer<RemoteArticleDto> out) throws IOException {
+            JsonToken t;
+            while ((t = p.nextToken()) != null && t != JsonToken.NOT_AVAILABLE) {
+                handle(t, p, out);
+            }
+        }
+
+        void publishInfo() {
+            if (infoPublished) return;
+            infoPublished = true;
+            if (onInfo != null) onInfo.accept(info);
+        }
+
+        private void handle(JsonToken t, JsonParser p, Consumer<RemoteArticleDto> out) throws IOException {
+            switch (t) {
+                case START_OBJECT -> {
+                    depth++;
+                    if (inArticles && depth == 3) {
+                        current = new RemoteArticleDto();
+                        articleField = null;
+                    } else if (current != null && depth == 4 && "source".equals(articleField)) {
+                        inSource = true;
+                        sourceField = null;
+                    }
+                }
+                case START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && "articles".equals(rootField)) {
+                        inArticles = true;
+                        info.articlesFound = true;
+                        publishInfo();
+                    }
+                }
+                case END_OBJECT -> {
+                    if (inSource && depth == 4) {
+                        inSource = false;
+                    } else if (current != null && depth == 3) {
+                        out.accept(current);
+                        current = null;
+                    }
+                    depth--;
+                }
+                case END_ARRAY -> {
+                    if (inArticles && depth == 2) inArticles = false;
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) rootField = p.currentName();
+                    else if (current != null && depth == 3) articleField = p.currentName();
+                    else if (inSource && depth == 4) sourceField = p.currentName();
+                }
+                default -> {
+                    // scalar value
+                    String value = t == JsonToken.VALUE_NULL ? null : p.getText();
+                    if (depth == 1) {
+                        rootValue(value);
+                    } else if (current != null && depth == 3) {
+                        articleValue(value);
+                    } else if (inSource && depth == 4 && "name".equals(sourceField)) {
+                        current.setSource(value);
+                    }
+                }
+            }
+        }
+
+        private void rootValue(String value) {
+            if (rootField == null) return;
+            switch (rootField) {
+                case "status" -> info.status = value;
+                case "code" -> info.code = value;
+                case "message" -> info.message = value;
+                case "totalResults" -> {
+                    try {
+                        info.totalResults = value != null ? Integer.valueOf(value) : null;
+                    } catch (NumberFormatException ignored) {}
+                }
+                default -> { }
+            }
+        }
+
+        private void articleValue(String value) {
+            if (articleField == null) return;
+            switch (articleField) {
+                case "title" -> current.setTitle(value);
+                case "url" -> current.setUrl(value);
+                case "description" -> current.setSummary(value);
+                case "content" -> current.setContent(value);
+                case "urlToImage" -> current.setImageUrl(value); // urlToImage -> imageUrl
+                case "category" -> current.setCategory(value);
+                case "publishedAt" -> {
+                    if (value != null) {
+                        try {
+                            current.setPublishedAt(OffsetDateTime.parse(value));
+                        } catch (DateTimeParseException ignored) {
+                            // left null; callers decide the fallback
+                        }
+                    }
+                }
+                default -> { }
+            }
+        }
+    }
+}
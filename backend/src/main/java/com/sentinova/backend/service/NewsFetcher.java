@@ -1,7 +1,5 @@
 package com.sentinova.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,7 +9,6 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -21,6 +18,7 @@ import java.util.concurrent.TimeUnit;
  *  - Maps `urlToImage` -> imageUrl and returns a list of RemoteArticleDto
  *  - Handles 429 Too Many Requests by inspecting Retry-After and backing off
  *  - Uses raw status codes to avoid HttpStatusCode -> HttpStatus mismatch
+ *  - Streams the response body through NewsApiArticleDecoder instead of reading a full JsonNode tree
  *
  * Configure your API key in application.properties as:
  *   newsapi.key=YOUR_KEY
@@ -32,7 +30,7 @@ public class NewsFetcher {
 
     private final ArticleService articleService;
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final NewsApiArticleDecoder articleDecoder;
 
     @Value("${newsapi.key:}")
     private String newsApiKey;
@@ -43,10 +41,10 @@ public class NewsFetcher {
     private static final int MAX_RETRIES = 3;
     private static final long BASE_BACKOFF_MS = 1000L; // exponential backoff base
 
-    public NewsFetcher(ArticleService articleService) {
+    public NewsFetcher(ArticleService articleService, NewsApiArticleDecoder articleDecoder) {
         this.articleService = articleService;
+        this.articleDecoder = articleDecoder;
         this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
     }
 
     /**
@@ -62,29 +60,14 @@ public class NewsFetcher {
 
         log.info("Fetched {} remote articles. Upserting...", remoteList.size());
 
-        for (RemoteArticleDto r : remoteList) {
-            try {
-                OffsetDateTime pub = r.getPublishedAt(); // may be null
-                OffsetDateTime fetched = OffsetDateTime.now();
-
-                articleService.upsertFromRemote(
-                    /* remoteId */ null,
-                    r.getTitle(),
-                    r.getUrl(),
-                    r.getSource(),
-                    r.getCategory(),
-                    r.getSummary(),
-                    r.getContent(),
-                    pub,
-                    fetched,
-                    r.getImageUrl()
-                );
-            } catch (Exception ex) {
-                log.warn("Failed to upsert article '{}' from provider: {}", r.getTitle(), ex.getMessage(), ex);
-            }
+        try {
+            // one bulk URL lookup + JDBC-batched writes instead of 2 round trips per article
+            ArticleService.BatchUpsertResult result = articleService.upsertAllFromRemote(remoteList, OffsetDateTime.now());
+            log.info("Upsert complete. created={}, changed={}, unchanged={}",
+                    result.getCreated().size(), result.getUpdated().size(), result.getUnchanged().size());
+        } catch (Exception ex) {
+            log.warn("Failed to upsert batch of {} articles from provider: {}", remoteList.size(), ex.getMessage(), ex);
         }
-
-        log.info("Upsert complete.");
     }
 
     /**
@@ -106,69 +89,32 @@ public class NewsFetcher {
         headers.set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
         headers.set(HttpHeaders.USER_AGENT, "SentinovaNewsFetcher/1.0");
 
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
         int attempt = 0;
         while (attempt < MAX_RETRIES) {
             attempt++;
             try {
-                ResponseEntity<String> resp = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-                if (resp.getStatusCode() != HttpStatus.OK || resp.getBody() == null) {
-                    log.warn("NewsAPI responded with status {}. Body empty? {}", resp.getStatusCode(), resp.getBody() == null);
-                    // if it's 429 it would have thrown HttpStatusCodeException; handle other non-OK by returning empty
-                    return list;
-                }
-
-                JsonNode root = objectMapper.readTree(resp.getBody());
-                JsonNode articles = root.path("articles");
-                if (!articles.isArray()) {
-                    log.warn("NewsAPI response missing 'articles' array.");
-                    return list;
-                }
-
-                for (JsonNode n : articles) {
-                    try {
-                        RemoteArticleDto dto = new RemoteArticleDto();
-
-                        JsonNode titleNode = n.path("title");
-                        if (!titleNode.isMissingNode() && !titleNode.isNull()) dto.setTitle(titleNode.asText());
-
-                        JsonNode urlNode = n.path("url");
-                        if (!urlNode.isMissingNode() && !urlNode.isNull()) dto.setUrl(urlNode.asText());
-
-                        JsonNode sourceNode = n.path("source").path("name");
-                        if (!sourceNode.isMissingNode() && !sourceNode.isNull()) dto.setSource(sourceNode.asText());
-
-                        JsonNode descNode = n.path("description");
-                        if (!descNode.isMissingNode() && !descNode.isNull()) dto.setSummary(descNode.asText());
-
-                        JsonNode contentNode = n.path("content");
-                        if (!contentNode.isMissingNode() && !contentNode.isNull()) dto.setContent(contentNode.asText());
-
-                        JsonNode publishedAtNode = n.path("publishedAt");
-                        if (!publishedAtNode.isMissingNode() && !publishedAtNode.isNull()) {
-                            String publishedAtText = publishedAtNode.asText();
-                            try {
-                                dto.setPublishedAt(OffsetDateTime.parse(publishedAtText));
-                            } catch (DateTimeParseException ex) {
-                                log.debug("Failed to parse publishedAt '{}' for article '{}': {}", publishedAtText, dto.getTitle(), ex.getMessage());
+                // Stream-decode the body straight from the socket; no String / JsonNode tree in between.
+                List<RemoteArticleDto> decoded = restTemplate.execute(url, HttpMethod.GET,
+                        request -> request.getHeaders().putAll(headers),
+                        response -> {
+                            List<RemoteArticleDto> out = new ArrayList<>();
+                            if (response.getStatusCode().value() != HttpStatus.OK.value()) {
+                                log.warn("NewsAPI responded with status {}.", response.getStatusCode());
+                                // if it's 429 it would have thrown HttpStatusCodeException; handle other non-OK by returning empty
+                                return out;
                             }
-                        }
-
-                        // urlToImage -> imageUrl
-                        JsonNode imageNode = n.path("urlToImage");
-                        if (!imageNode.isMissingNode() && !imageNode.isNull()) dto.setImageUrl(imageNode.asText());
-
-                        dto.setCategory("General");
-
-                        if ((dto.getTitle() != null && !dto.getTitle().isEmpty())) {
-                            list.add(dto);
-                        }
-                    } catch (Exception inner) {
-                        log.warn("Failed to map one article from NewsAPI: {}", inner.getMessage(), inner);
-                    }
-                }
+                            NewsApiArticleDecoder.ResponseInfo info = articleDecoder.decode(response.getBody(), dto -> {
+                                dto.setCategory("General");
+                                if (dto.getTitle() != null && !dto.getTitle().isEmpty()) {
+                                    out.add(dto);
+                                }
+                            });
+                            if (!info.isArticlesFound()) {
+                                log.warn("NewsAPI response missing 'articles' array: {}", info);
+                            }
+                            return out;
+                        });
+                if (decoded != null) list.addAll(decoded);
 
                 // successful fetch -> return list
                 return list;
@@ -236,38 +182,4 @@ public class NewsFetcher {
         // exponential backoff: base * 2^(attempt-1)
         return BASE_BACKOFF_MS * (1L << Math.max(0, attempt - 1));
     }
-
-    /**
-     * Simple DTO used to map provider fields.
-     */
-    public static class RemoteArticleDto {
-        private String title;
-        private String url;
-        private String source;
-        private String category;
-        private String summary;
-        private String content;
-        private OffsetDateTime publishedAt;
-        private String imageUrl;
-
-        public RemoteArticleDto() {}
-
-        // getters / setters
-        public String getTitle() { return title; }
-        public void setTitle(String title) { this.title = title; }
-        public String getUrl() { return url; }
-        public void setUrl(String url) { this.url = url; }
-        public String getSource() { return source; }
-        public void setSource(String source) { this.source = source; }
-        public String getCategory() { return category; }
-        public void setCategory(String category) { this.category = category; }
-        public String getSummary() { return summary; }
-        public void setSummary(String summary) { this.summary = summary; }
-        public String getContent() { return content; }
-        public void setContent(String content) { this.content = content; }
-        public OffsetDateTime getPublishedAt() { return publishedAt; }
-        public void setPublishedAt(OffsetDateTime publishedAt) { this.publishedAt = publishedAt; }
-        public String getImageUrl() { return imageUrl; }
-        public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
-    }
 }
@@ -1,40 +1,49 @@
 package com.sentinova.backend.service;
 
 import com.sentinova.backend.model.Article;
-import com.sentinova.backend.model.Sentiment;
-import com.sentinova.backend.service.SentimentService.SentimentResult;
-import com.sentinova.backend.repository.ArticleRepository;
-import com.sentinova.backend.repository.SentimentRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
 
 /**
- * Polls NewsAPI, saves/updates Article entities and creates Sentiment entities using SentimentService.
+ * Polls NewsAPI, saves/updates Article entities and hands them to SentimentAnalysisQueue for scoring.
  *
  * Changes in this version:
  *  - Do NOT assign UUID manually to Sentiment (let DB / JPA generate it). Manual setId was causing Hibernate
  *    to treat the entity as detached/merge target and produced StaleObjectStateException.
  *  - Normalize sentiment labels to "Positive" / "Negative" / "Neutral" before saving.
  *  - Tolerant error-handling around sentiment saving.
+ *  - Each poll is upserted as one batch via ArticleService.upsertAllFromRemote (one bulk URL lookup and
+ *    JDBC-batched writes instead of findByUrl + save per article).
+ *  - The NewsAPI body is stream-decoded (NewsApiArticleDecoder) instead of deserialized into a raw Map,
+ *    and upserted in chunks of news.poll.upsertBatchSize while the rest of the body is still arriving.
+ *  - Content-hash change detection: re-polled articles whose title/summary/content/image did not change are
+ *    only touched (last_seen_at) and are neither rewritten, re-analyzed nor re-emitted.
+ *  - Sentiment analysis is decoupled from ingestion: articles are queued on the bounded async analysis
+ *    stage (SentimentAnalysisQueue) so a slow CoreNLP parse no longer stalls the poll cycle.
+ *  - Each committed chunk is applied to the in-memory hot feed (RecentArticlesFeed) and, when it created or
+ *    changed articles, bumps FeedVersion (feed ETags).
+ *  - Created/changed articles are emitted on getFlux(), which ArticleStreamHub serves as GET /api/articles/stream.
  */
 @Service
 public class NewsPollingService {
 
-    private final ArticleRepository articleRepository;
-    private final SentimentRepository sentimentRepository;
+    private final ArticleService articleService;
     private final WebClient webClient;
     private final Sinks.Many<Article> sink;
-    private final SentimentService sentimentService;
+    private final SentimentAnalysisQueue analysisQueue;
+    private final NewsApiArticleDecoder articleDecoder;
+    private final RecentArticlesFeed recentFeed;
+    private final FeedVersion feedVersion;
 
     @Value("${newsapi.url}")
     private String newsApiUrl;
@@ -45,21 +54,28 @@ public class NewsPollingService {
     @Value("${news.poll.maxArticlesPerPoll:50}")
     private int maxArticlesPerPoll;
 
+    @Value("${news.poll.upsertBatchSize:25}")
+    private int upsertBatchSize;
+
     @Value("${app.polling.enabled:true}")
     private boolean pollingEnabled;
 
-    public NewsPollingService(ArticleRepository articleRepository,
-                              SentimentRepository sentimentRepository,
-                              SentimentService sentimentService,
+    public NewsPollingService(ArticleService articleService,
+                              SentimentAnalysisQueue analysisQueue,
+                              NewsApiArticleDecoder articleDecoder,
+                              RecentArticlesFeed recentFeed,
+                              FeedVersion feedVersion,
                               WebClient.Builder webClientBuilder) {
-        this.articleRepository = articleRepository;
-        this.sentimentRepository = sentimentRepository;
-        this.sentimentService = sentimentService;
+        this.articleService = articleService;
+        this.analysisQueue = analysisQueue;
+        this.articleDecoder = articleDecoder;
+        this.recentFeed = recentFeed;
+        this.feedVersion = feedVersion;
         this.webClient = webClientBuilder.build();
         this.sink = Sinks.many().multicast().onBackpressureBuffer();
     }
 
-    public reactor.core.publisher.Flux<Article> getFlux() {
+    public Flux<Article> getFlux() {
         return sink.asFlux();
     }
 
@@ -81,156 +97,65 @@ public class NewsPollingService {
                 url += (url.contains("?") ? "&" : "?") + "apiKey=" + newsApiKey;
             }
 
-            Map response = webClient.get()
-                    .uri(url)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (response == null) {
-                System.err.println("⚠️ NewsAPI returned null response.");
-                return;
-            }
-
-            System.out.println("🔍 NewsAPI raw response: status=" + response.get("status")
-                    + ", totalResults=" + response.get("totalResults"));
-
-            Object articlesObj = response.get("articles");
-            if (!(articlesObj instanceof List)) {
-                System.err.println("⚠️ NewsAPI response missing 'articles' array or it's not a list.");
-                System.out.println("Raw response: " + response);
-                return;
-            }
-
-            List<Map<String, Object>> articles = (List<Map<String, Object>>) articlesObj;
-
-            int processed = 0;
-            int index = 0;
-
-            for (Map<String, Object> a : articles) {
-                index++;
-                if (processed >= maxArticlesPerPoll) break;
-
-                try {
-                    if (a == null) {
-                        System.out.println("[" + index + "] skipped: article object null");
-                        continue;
-                    }
-
-                    String articleUrl = safeToString(a.get("url"));
-                    if (articleUrl.isBlank()) {
-                        System.out.println("[" + index + "] skipped: url blank");
-                        continue;
-                    }
-
-                    // Find existing or create new
-                    Optional<Article> existingOpt = articleRepository.findByUrl(articleUrl);
-                    Article article;
-                    boolean isNew;
-
-                    if (existingOpt.isPresent()) {
-                        article = existingOpt.get();
-                        isNew = false;
-                    } else {
-                        article = new Article();
-                        article.setUrl(articleUrl);
-                        isNew = true;
-                    }
-
-                    // Update fields (new or existing)
-                    article.setTitle(safeToString(a.get("title"), "No title"));
-                    String description = safeToString(a.get("description"));
-                    article.setSummary(description);
-                    String content = safeToString(a.get("content"), description);
-                    article.setContent(content);
-
-                    String imageUrl = safeToString(a.get("urlToImage"));
-                    if (!imageUrl.isBlank()) {
-                        article.setImageUrl(imageUrl);
-                    }
-
-                    Object srcObj = a.get("source");
-                    if (srcObj instanceof Map<?, ?> srcMap) {
-                        article.setSource(safeToString(srcMap.get("name")));
-                    } else {
-                        article.setSource("");
-                    }
-
-                    // category might not be present in NewsAPI; keep existing if blank
-                    String category = safeToString(a.get("category"));
-                    if (!category.isBlank()) {
-                        article.setCategory(category);
-                    } else if (article.getCategory() == null) {
-                        article.setCategory("General");
-                    }
-
-                    String publishedAt = safeToString(a.get("publishedAt"));
-                    if (!publishedAt.isBlank()) {
-                        try {
-                            article.setPublishedAt(OffsetDateTime.parse(publishedAt));
-                        } catch (Exception ex) {
-                            article.setPublishedAt(OffsetDateTime.now());
+            // Stream-decode the body: articles are emitted one at a time as their bytes arrive,
+            // and upserted in chunks so persistence starts before the whole page is downloaded.
+            Flux<RemoteArticleDto> articles = articleDecoder.decode(
+                    webClient.get()
+                            .uri(url)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class),
+                    info -> {
+                        System.out.println("🔍 NewsAPI response: status=" + info.getStatus()
+                                + ", totalResults=" + info.getTotalResults());
+                        if (!info.isArticlesFound()) {
+                            System.err.println("⚠️ NewsAPI response missing 'articles' array: " + info);
                         }
-                    } else if (article.getPublishedAt() == null) {
-                        article.setPublishedAt(OffsetDateTime.now());
-                    }
-
-                    article.setFetchedAt(OffsetDateTime.now());
-
-                    // Save or update
-                    Article saved = articleRepository.save(article);
-
-                    if (isNew) {
-                        System.out.println("[" + index + "] ✅ NEW article saved: '" + saved.getTitle() + "'");
-                    } else {
-                        System.out.println("[" + index + "] ♻️ UPDATED existing article: '" + saved.getTitle() + "'");
-                    }
-
-                    // Sentiment analysis (best-effort)
-                    try {
-                        SentimentResult sr = sentimentService.analyzeText(
-                                (saved.getTitle() == null ? "" : saved.getTitle()) + ". " +
-                                        (saved.getContent() == null ? "" : saved.getContent())
-                        );
-
-                        if (sr != null) {
-                            // IMPORTANT: DO NOT set an ID manually. Let DB/JPA generate it (gen_random_uuid()).
-                            Sentiment sentimentEntity = new Sentiment();
-                            sentimentEntity.setArticle(saved);
-                            sentimentEntity.setLabel(normalizeLabel(sr.getLabel()));
-                            Double score = sr.getScore() != null ? sr.getScore() : 0.0;
-                            sentimentEntity.setScore(score);
-                            sentimentEntity.setCreatedAt(OffsetDateTime.now());
-
-                            // Persist
-                            sentimentRepository.save(sentimentEntity);
-
-                            System.out.println("   ↳ Sentiment saved: " + sentimentEntity.getLabel() + " (" + sentimentEntity.getScore() + ")");
-                        } else {
-                            System.out.println("   ↳ Sentiment service returned null for this article.");
+                    });
+
+            OffsetDateTime fetchedAt = OffsetDateTime.now();
+            int created = 0;
+            int updated = 0;
+            int unchanged = 0;
+
+            Iterable<List<RemoteArticleDto>> chunks = articles
+                    .filter(dto -> {
+                        if (dto.getUrl() == null || dto.getUrl().isBlank()) {
+                            System.out.println("skipped: url blank ('" + dto.getTitle() + "')");
+                            return false;
                         }
-                    } catch (Exception se) {
-                        System.err.println("⚠️ Sentiment analysis failed for article: " + saved.getTitle());
-                        se.printStackTrace();
-                    }
-
-                    // Emit for SSE - best-effort (won't block polling)
-                    try {
-                        sink.tryEmitNext(saved);
-                    } catch (Exception emitEx) {
-                        System.err.println("⚠️ SSE emit failed: " + emitEx.getMessage());
-                    }
-
-                    processed++;
-
-                } catch (Exception e) {
-                    System.err.println("⚠️ Error processing article index " + index + ": " + e.getMessage());
-                    e.printStackTrace();
+                        return true;
+                    })
+                    .take(maxArticlesPerPoll)
+                    .map(NewsPollingService::applyPollerDefaults)
+                    .buffer(Math.max(1, upsertBatchSize))
+                    .toIterable();
+
+            for (List<RemoteArticleDto> chunk : chunks) {
+                // Save or update the chunk in one transaction (bulk URL lookup + JDBC-batched writes)
+                ArticleService.BatchUpsertResult result = articleService.upsertAllFromRemote(chunk, fetchedAt);
+                // hot feed first, so sentiment results for these articles always find them there
+                recentFeed.applyPoll(changedArticles(result), result.getUnchanged().stream().map(Article::getId).toList(), fetchedAt);
+                // feed ETags move only on real changes; last-seen touches alone keep clients' cached copies valid
+                if (!result.getCreated().isEmpty() || !result.getUpdated().isEmpty()) feedVersion.bump();
+
+                for (Article saved : result.getCreated()) {
+                    System.out.println("✅ NEW article saved: '" + saved.getTitle() + "'");
+                    publish(saved);
                 }
+                for (Article saved : result.getUpdated()) {
+                    System.out.println("♻️ CHANGED existing article: '" + saved.getTitle() + "'");
+                    publish(saved);
+                }
+                // unchanged articles: last_seen_at bumped in bulk, no entity write, no re-analysis, no SSE event
+                created += result.getCreated().size();
+                updated += result.getUpdated().size();
+                unchanged += result.getUnchanged().size();
             }
 
-            System.out.println("✅ Poll cycle finished. Articles processed: " + processed);
+            System.out.println("✅ Poll cycle finished. Articles processed: " + (created + updated + unchanged)
+                    + " (new=" + created + ", changed=" + updated + ", unchanged=" + unchanged + ")"
+                    + ", awaiting analysis: " + analysisQueue.getQueueDepth());
 
         } catch (Exception e) {
             System.err.println("❌ Top-level polling error: " + e.getMessage());
@@ -238,32 +163,41 @@ public class NewsPollingService {
         }
     }
 
-    // --- helpers ---
-    private static String safeToString(Object obj) {
-        return obj != null ? obj.toString().trim() : "";
+    private static List<Article> changedArticles(ArticleService.BatchUpsertResult result) {
+        List<Article> changed = new ArrayList<>(result.getCreated().size() + result.getUpdated().size());
+        changed.addAll(result.getCreated());
+        changed.addAll(result.getUpdated());
+        return changed;
     }
 
-    private static String safeToString(Object obj, String fallback) {
-        return obj != null ? obj.toString().trim() : fallback;
+    /**
+     * Hand a persisted article to the async analysis stage and the SSE sink.
+     */
+    private void publish(Article saved) {
+        // Sentiment analysis runs on the async analysis stage (never blocks polling)
+        analysisQueue.submit(saved);
+
+        // Emit for SSE - best-effort (won't block polling)
+        try {
+            sink.tryEmitNext(saved);
+        } catch (Exception emitEx) {
+            System.err.println("⚠️ SSE emit failed: " + emitEx.getMessage());
+        }
     }
 
     /**
-     * Normalize various sentiment label shapes into a simple Positive/Negative/Neutral set.
-     * Accepts variants like "Very positive", "Positive", "POSITIVE", "neg", etc.
+     * Apply the poller's defaults to a decoded NewsAPI article.
      */
-    private static String normalizeLabel(String raw) {
-        if (raw == null) return "Neutral";
-        String s = raw.trim().toLowerCase();
-        if (s.contains("pos") || s.contains("very positive") || s.contains("positive")) return "Positive";
-        if (s.contains("neg") || s.contains("very negative") || s.contains("negative")) return "Negative";
-        // fallback: treat numeric or borderline values as Neutral if unclear
-        if (s.matches("^[0-9]*(\\.[0-9]+)?$")) {
-            try {
-                double v = Double.parseDouble(s);
-                if (v >= 0.66) return "Positive";
-                if (v <= 0.33) return "Negative";
-            } catch (Exception ignored) {}
-        }
-        return "Neutral";
+    private static RemoteArticleDto applyPollerDefaults(RemoteArticleDto dto) {
+        dto.setUrl(dto.getUrl().trim());
+        if (dto.getTitle() == null) dto.setTitle("No title");
+        if (dto.getContent() == null) dto.setContent(dto.getSummary());
+
+        // category might not be present in NewsAPI
+        if (dto.getCategory() == null || dto.getCategory().isBlank()) dto.setCategory("General");
+
+        // missing or unparseable publishedAt -> now
+        if (dto.getPublishedAt() == null) dto.setPublishedAt(OffsetDateTime.now());
+        return dto;
     }
 }
@@ -0,0 +1,179 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import opennlp.tools.doccat.DoccatModel;
+import opennlp.tools.doccat.DocumentCategorizerME;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Low-latency alternative to the CoreNLP parser: OpenNLP maximum-entropy document categorizer.
+ * Select it as the full (tier two) engine with sentiment.engine=opennlp.
+ *
+ * Notes:
+ *  - Model source: sentiment.opennlp.model-path if that file exists; otherwise a model is trained from
+ *    sentiment.opennlp.training-file (label&lt;TAB&gt;text, see OpenNlpSentimentModels) and written to model-path.
+ *  - The DoccatModel is immutable and shared; DocumentCategorizerME is not thread-safe, so each thread keeps
+ *    its own categorizer (ThreadLocal) on top of the shared model.
+ *  - Score = expected value of the class distribution (Negative 0, Neutral 0.5, Positive 1), label = best class.
+ *    Accuracy depends entirely on the training file; the bundled sample is only enough to smoke-test.
+ */
+@Component
+public class OpenNlpSentimentEngine implements SentimentEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenNlpSentimentEngine.class);
+
+    private final String modelPath;
+    private final String trainingFile;
+    private final int iterations;
+    private final int cutoff;
+    private final long retryAfterSeconds;
+    private final String signature;
+
+    private final CompletableFuture<DoccatModel> modelFuture = new CompletableFuture<>();
+    private volatile DoccatModel model;
+    private final ThreadLocal<DocumentCategorizerME> categorizer =
+            ThreadLocal.withInitial(() -> new DocumentCategorizerME(model));
+
+    public OpenNlpSentimentEngine(@Value("${sentiment.opennlp.model-path:models/sentiment-doccat.bin}") String modelPath,
+                                  @Value("${sentiment.opennlp.training-file:classpath:sentiment/labeled-sample.tsv}") String trainingFile,
+                                  @Value("${sentiment.opennlp.iterations:100}") int iterations,
+                                  @Value("${sentiment.opennlp.cutoff:1}") int cutoff,
+                                  @Value("${sentiment.nlp.retry-after-seconds:15}") long retryAfterSeconds) {
+        this.modelPath = modelPath;
+        this.trainingFile = trainingFile;
+        this.iterations = iterations;
+        this.cutoff = cutoff;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.signature = "opennlp:" + sourceFingerprint();
+    }
+
+    @Override
+    public String getName() {
+        return "opennlp";
+    }
+
+    @Override
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Load (or train) the model synchronously; no-op once done.
+     */
+    @Override
+    public synchronized void warmUp() {
+        if (modelFuture.isDone()) return;
+        long start = System.nanoTime();
+        try {
+            DoccatModel loaded = loadOrTrain();
+            model = loaded;
+            modelFuture.complete(loaded);
+            log.info("OpenNLP sentiment model ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("OpenNLP sentiment model failed to load: {}", e.getMessage(), e);
+            modelFuture.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public ModelState getModelState() {
+        if (!modelFuture.isDone()) return ModelState.LOADING;
+        return modelFuture.isCompletedExceptionally() ? ModelState.FAILED : ModelState.READY;
+    }
+
+    @Override
+    public void awaitReady() throws InterruptedException {
+        try {
+            modelFuture.get();
+        } catch (ExecutionException e) {
+            throw new SentimentNotReadyException("sentiment model failed to load: " + e.getCause().getMessage(), retryAfterSeconds);
+        }
+    }
+
+    @Override
+    public SentimentResult analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return new SentimentResult("Neutral", 0.5); // default neutral
+        }
+        if (model == null) {
+            throw new SentimentNotReadyException(getModelState() == ModelState.FAILED
+                    ? "sentiment model failed to load" : "sentiment model is still loading", retryAfterSeconds);
+        }
+
+        DocumentCategorizerME me = categorizer.get();
+        double[] probs = me.categorize(OpenNlpSentimentModels.tokens(text));
+
+        double score = 0;
+        for (int i = 0; i < probs.length; i++) {
+            score += probs[i] * classValue(me.getCategory(i));
+        }
+        return new SentimentResult(SentimentAnalysisQueue.normalizeLabel(me.getBestCategory(probs)), score);
+    }
+
+    private static double classValue(String category) {
+        return switch (SentimentAnalysisQueue.normalizeLabel(category)) {
+            case "Positive" -> 1.0;
+            case "Negative" -> 0.0;
+            default -> 0.5;
+        };
+    }
+
+    private DoccatModel loadOrTrain() throws IOException {
+        Path modelFile = Path.of(modelPath);
+        if (Files.isRegularFile(modelFile)) {
+            log.info("Loading OpenNLP sentiment model from {}", modelFile.toAbsolutePath());
+            return OpenNlpSentimentModels.load(modelFile);
+        }
+
+        log.info("No OpenNLP model at {}, training from {}", modelFile.toAbsolutePath(), trainingFile);
+        DoccatModel trained;
+        try (InputStream in = resource(trainingFile).getInputStream()) {
+            trained = OpenNlpSentimentModels.train(in, iterations, cutoff);
+        }
+        try {
+            OpenNlpSentimentModels.save(trained, modelFile);
+        } catch (IOException e) {
+            log.warn("Could not write OpenNLP model to {}: {}", modelFile, e.getMessage());
+        }
+        return trained;
+    }
+
+    // Digest of whatever the model will come from, so a new model/training file invalidates cached results
+    private String sourceFingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Path modelFile = Path.of(modelPath);
+            if (Files.isRegularFile(modelFile)) {
+                digest.update(Files.readAllBytes(modelFile));
+            } else {
+                try (InputStream in = resource(trainingFile).getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+                digest.update(("|" + iterations + "|" + cutoff).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return "unavailable";
+        }
+    }
+
+    private static Resource resource(String location) {
+        return new DefaultResourceLoader().getResource(location);
+    }
+}
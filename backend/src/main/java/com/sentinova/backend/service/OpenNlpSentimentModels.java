@@ -0,0 +1,80 @@
+package com.sentinova.backend.service;
+
+import opennlp.tools.doccat.BagOfWordsFeatureGenerator;
+import opennlp.tools.doccat.DoccatFactory;
+import opennlp.tools.doccat.DoccatModel;
+import opennlp.tools.doccat.DocumentCategorizerME;
+import opennlp.tools.doccat.DocumentSample;
+import opennlp.tools.doccat.FeatureGenerator;
+import opennlp.tools.doccat.NGramFeatureGenerator;
+import opennlp.tools.tokenize.SimpleTokenizer;
+import opennlp.tools.util.ObjectStreamUtils;
+import opennlp.tools.util.TrainingParameters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Train / load / save OpenNLP document-categorizer sentiment models.
+ *
+ * Training file format is the same as the labeled sample: "label&lt;TAB&gt;text" per line, '#' comments,
+ * labels Positive / Negative / Neutral. Features are unigrams + bigrams of lowercased SimpleTokenizer tokens.
+ */
+public final class OpenNlpSentimentModels {
+
+    private OpenNlpSentimentModels() {}
+
+    /**
+     * Tokens as fed to the categorizer, both at training and at prediction time.
+     */
+    public static String[] tokens(String text) {
+        return SimpleTokenizer.INSTANCE.tokenize(text.toLowerCase(Locale.ROOT));
+    }
+
+    public static DoccatModel train(InputStream labeledTsv, int iterations, int cutoff) throws IOException {
+        List<DocumentSample> samples = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(labeledTsv, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                int tab = line.indexOf('\t');
+                if (tab <= 0) continue;
+                samples.add(new DocumentSample(line.substring(0, tab).strip(), tokens(line.substring(tab + 1))));
+            }
+        }
+        if (samples.isEmpty()) throw new IOException("no labeled lines in training data");
+
+        TrainingParameters params = TrainingParameters.defaultParams();
+        params.put(TrainingParameters.ITERATIONS_PARAM, iterations);
+        params.put(TrainingParameters.CUTOFF_PARAM, cutoff);
+
+        DoccatFactory factory = new DoccatFactory(new FeatureGenerator[]{
+                new BagOfWordsFeatureGenerator(),
+                new NGramFeatureGenerator(2, 2)
+        });
+        return DocumentCategorizerME.train("en", ObjectStreamUtils.createObjectStream(samples), params, factory);
+    }
+
+    public static DoccatModel load(Path modelFile) throws IOException {
+        try (InputStream in = Files.newInputStream(modelFile)) {
+            return new DoccatModel(in);
+        }
+    }
+
+    public static void save(DoccatModel model, Path modelFile) throws IOException {
+        Path parent = modelFile.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (OutputStream out = Files.newOutputStream(modelFile)) {
+            model.serialize(out);
+        }
+    }
+}
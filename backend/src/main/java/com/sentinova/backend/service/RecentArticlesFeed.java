@@ -0,0 +1,251 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import com.sentinova.backend.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory hot feed: the newest articles.hot-feed.capacity articles, served to /api/articles/recent/{count}
+ * without touching Postgres.
+ *
+ * Notes:
+ *  - Readers get an immutable Snapshot (array of FeedArticle records in feed order) from an AtomicReference:
+ *    no locks, no copying on read. Writers build a new snapshot and CAS it in (copy-on-write); writes happen
+ *    once per poll chunk and per sentiment change, reads on every page load.
+ *  - Loaded from the DB at startup, then kept current by NewsPollingService (new/changed articles, last-seen
+ *    touches) and by SentimentWriter's LatestSentimentChanged events (after commit). Bulk SQL that publishes
+ *    no events (ArticleSentimentRepair) calls reload() once it has changed rows.
+ *  - Same order as the DB query: fetchedAt DESC NULLS LAST, id DESC (uuid compared bytewise, like Postgres).
+ *  - The snapshot is complete while it holds every article in the table. Once older articles fall off the end,
+ *    a filtered read that cannot find enough matches returns null and the caller falls back to the DB query.
+ *  - Toggle: articles.hot-feed.enabled; size: articles.hot-feed.capacity.
+ */
+@Service
+public class RecentArticlesFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(RecentArticlesFeed.class);
+
+    static final Comparator<FeedArticle> FEED_ORDER = Comparator
+            .comparing(FeedArticle::fetchedAt, Comparator.nullsLast(Comparator.<OffsetDateTime, Instant>comparing(OffsetDateTime::toInstant).reversed()))
+            .thenComparing(FeedArticle::id, RecentArticlesFeed::compareUuidDesc);
+
+    private final ArticleRepository articleRepository;
+    private final boolean enabled;
+    private final int capacity;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    public RecentArticlesFeed(ArticleRepository articleRepository,
+                              @Value("${articles.hot-feed.enabled:true}") boolean enabled,
+                              @Value("${articles.hot-feed.capacity:1000}") int capacity) {
+        this.articleRepository = articleRepository;
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Immutable view of one article as served by the feed (same JSON shape as Article).
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record FeedArticle(UUID id, String title, String url, String summary, String content, String source,
+                              String category, OffsetDateTime publishedAt, OffsetDateTime fetchedAt, String imageUrl,
+                              OffsetDateTime lastSeenAt, String sentimentLabel, Double sentimentScore,
+                              OffsetDateTime sentimentAnalyzedAt) {
+
+        public static FeedArticle of(Article a) {
+            return new FeedArticle(a.getId(), a.getTitle(), a.getUrl(), a.getSummary(), a.getContent(), a.getSource(),
+                    a.getCategory(), a.getPublishedAt(), a.getFetchedAt(), a.getImageUrl(), a.getLastSeenAt(),
+                    a.getSentimentLabel(), a.getSentimentScore(), a.getSentimentAnalyzedAt());
+        }
+
+        public ArticleCard toCard() {
+            return new ArticleCard(id, title, summary, source, category, url, imageUrl, publishedAt, fetchedAt,
+                    sentimentLabel, sentimentScore);
+        }
+
+        FeedArticle withLastSeenAt(OffsetDateTime seenAt) {
+            return new FeedArticle(id, title, url, summary, content, source, category, publishedAt, fetchedAt,
+                    imageUrl, seenAt, sentimentLabel, sentimentScore, sentimentAnalyzedAt);
+        }
+
+        FeedArticle withSentiment(String label, Double score, OffsetDateTime analyzedAt) {
+            return new FeedArticle(id, title, url, summary, content, source, category, publishedAt, fetchedAt,
+                    imageUrl, lastSeenAt, label, score, analyzedAt);
+        }
+    }
+
+    /**
+     * One published state of the feed. Never mutated after construction.
+     */
+    static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new FeedArticle[0], false, false);
+
+        final FeedArticle[] items; // feed order, at most capacity
+        final boolean loaded;      // initial DB load done
+        final boolean complete;    // items hold every article in the table
+
+        Snapshot(FeedArticle[] items, boolean loaded, boolean complete) {
+            this.items = items;
+            this.loaded = loaded;
+            this.complete = complete;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+        read(false);
+    }
+
+    /**
+     * Re-read the snapshot after bulk SQL rewrote article rows behind the feed's back. Rows read here replace the
+     * held ones, except where a sentiment change delivered meanwhile is newer; articles polled since stay.
+     */
+    public void reload() {
+        if (!enabled) return;
+        read(true); // before the startup load too: that load then keeps these rows over its own, older read
+    }
+
+    private void read(boolean replace) {
+        long t0 = System.nanoTime();
+        List<Article> rows = articleRepository.findRecent(capacity + 1);
+        boolean complete = rows.size() <= capacity;
+        List<FeedArticle> loaded = new ArrayList<>(Math.min(rows.size(), capacity));
+        for (int i = 0; i < rows.size() && i < capacity; i++) loaded.add(FeedArticle.of(rows.get(i)));
+
+        update(current -> {
+            Map<UUID, FeedArticle> byId = new HashMap<>();
+            for (FeedArticle a : loaded) byId.put(a.id(), a);
+            for (FeedArticle a : current.items) {
+                // startup: polls that already landed in the (empty) snapshot win over the rows read above
+                if (replace) byId.merge(a.id(), a, (read, held) -> keepNewerSentiment(held, read));
+                else byId.put(a.id(), a);
+            }
+            return build(byId.values(), true, complete);
+        });
+        log.info("Hot feed {}: {} articles (complete={}) in {} ms", replace ? "reloaded" : "loaded", loaded.size(), complete,
+                (System.nanoTime() - t0) / 1_000_000);
+    }
+
+    /**
+     * Newest count articles, optionally only those whose latest sentiment label is sentimentLabel (canonical form).
+     * Null when the feed cannot answer (disabled, not loaded yet, or too few matches in an incomplete snapshot):
+     * the caller then queries the DB.
+     */
+    public List<FeedArticle> recent(int count, String sentimentLabel) {
+        if (!enabled) return null;
+        Snapshot s = snapshot.get();
+        if (!s.loaded) return null;
+
+        List<FeedArticle> out = new ArrayList<>(Math.min(count, s.items.length));
+        for (FeedArticle a : s.items) {
+            if (out.size() >= count) break;
+            if (sentimentLabel == null || sentimentLabel.equals(a.sentimentLabel())) out.add(a);
+        }
+        if (out.size() < count && !s.complete) return null; // older matches may exist beyond the snapshot
+        return out;
+    }
+
+    /**
+     * After a poll chunk has committed: new/changed articles replace or enter the feed, unchanged ones get
+     * their last-seen time bumped.
+     */
+    public void applyPoll(Collection<Article> saved, Collection<UUID> unchangedIds, OffsetDateTime seenAt) {
+        if (!enabled || (saved.isEmpty() && unchangedIds.isEmpty())) return;
+        List<FeedArticle> incoming = new ArrayList<>(saved.size());
+        for (Article a : saved) if (a.getId() != null) incoming.add(FeedArticle.of(a));
+        Set<UUID> touched = new HashSet<>(unchangedIds);
+
+        update(current -> {
+            Map<UUID, FeedArticle> byId = new HashMap<>();
+            for (FeedArticle a : current.items) {
+                byId.put(a.id(), touched.contains(a.id()) ? a.withLastSeenAt(seenAt) : a);
+            }
+            for (FeedArticle a : incoming) byId.merge(a.id(), a, RecentArticlesFeed::keepNewerSentiment);
+            return build(byId.values(), current.loaded, current.complete);
+        });
+    }
+
+    /**
+     * Latest sentiment of an article changed (published by SentimentWriter, delivered after commit). Runs before
+     * FeedVersion bumps, so the new ETag is only handed out with the new snapshot.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLatestSentimentChanged(SentimentWriter.LatestSentimentChanged event) {
+        if (!enabled) return;
+        update(current -> {
+            FeedArticle[] items = current.items;
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].id().equals(event.getArticleId())) {
+                    FeedArticle[] copy = items.clone();
+                    copy[i] = items[i].withSentiment(event.getLabel(), event.getScore(), event.getAnalyzedAt());
+                    return new Snapshot(copy, current.loaded, current.complete);
+                }
+            }
+            return current; // not in the hot set
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return snapshot.get().items.length;
+    }
+
+    private void update(UnaryOperator<Snapshot> change) {
+        snapshot.updateAndGet(change);
+    }
+
+    // sort, cap at capacity; dropping anything off the end means the table has more than the snapshot holds
+    private Snapshot build(Collection<FeedArticle> articles, boolean loaded, boolean complete) {
+        FeedArticle[] sorted = articles.toArray(new FeedArticle[0]);
+        Arrays.sort(sorted, FEED_ORDER);
+        if (sorted.length > capacity) {
+            return new Snapshot(Arrays.copyOf(sorted, capacity), loaded, false);
+        }
+        return new Snapshot(sorted, loaded, complete);
+    }
+
+    // a poll's entity may carry an older sentiment than a result committed meanwhile; keep the newer one
+    private static FeedArticle keepNewerSentiment(FeedArticle current, FeedArticle incoming) {
+        OffsetDateTime had = current.sentimentAnalyzedAt();
+        OffsetDateTime got = incoming.sentimentAnalyzedAt();
+        if (had != null && (got == null || had.isAfter(got))) {
+            return incoming.withSentiment(current.sentimentLabel(), current.sentimentScore(), had);
+        }
+        return incoming;
+    }
+
+    // Postgres orders uuid bytewise (unsigned); UUID.compareTo compares signed longs
+    private static int compareUuidDesc(UUID a, UUID b) {
+        int c = Long.compareUnsigned(b.getMostSignificantBits(), a.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(b.getLeastSignificantBits(), a.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,37 @@
+package com.sentinova.backend.service;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Simple DTO used to map provider fields (NewsAPI etc.) before they are upserted as Article entities.
+ */
+public class RemoteArticleDto {
+    private String title;
+    private String url;
+    private String source;
+    private String category;
+    private String summary;
+    private String content;
+    private OffsetDateTime publishedAt;
+    private String imageUrl;
+
+    public RemoteArticleDto() {}
+
+    // getters / setters
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+    public OffsetDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(OffsetDateTime publishedAt) { this.publishedAt = publishedAt; }
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+}
@@ -0,0 +1,208 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.Sentiment;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, backpressured analysis stage sitting between ingestion and sentiment scoring.
+ *
+ * Notes:
+ *  - NewsPollingService persists articles and hands them here; CoreNLP parsing runs on a fixed pool of
+ *    worker threads, so one slow parse no longer stalls the poll cycle or the SSE emit.
+ *  - Workers block until the CoreNLP models finish loading, so articles polled during startup are analyzed
+ *    once the models are in memory rather than dropped.
+ *  - Results are written through SentimentWriter (no new row when the label/score did not change).
+ *  - Worker count, queue capacity and the overflow policy come from sentiment.analysis.* properties.
+ *  - Overflow policies: DROP_NEWEST discards the incoming article, DROP_OLDEST evicts the oldest queued
+ *    article, CALLER_RUNS analyzes on the submitting thread (i.e. pushes backpressure onto the poller).
+ */
+@Service
+public class SentimentAnalysisQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentAnalysisQueue.class);
+
+    public enum OverflowPolicy { DROP_NEWEST, DROP_OLDEST, CALLER_RUNS }
+
+    private final SentimentWriter sentimentWriter;
+    private final SentimentService sentimentService;
+    private final ThreadPoolExecutor executor;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SentimentAnalysisQueue(SentimentWriter sentimentWriter,
+                                  SentimentService sentimentService,
+                                  @Value("${sentiment.analysis.workers:0}") int workers,
+                                  @Value("${sentiment.analysis.queue-capacity:500}") int queueCapacity,
+                                  @Value("${sentiment.analysis.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+        this.sentimentWriter = sentimentWriter;
+        this.sentimentService = sentimentService;
+        this.overflowPolicy = overflowPolicy;
+
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                workerThreadFactory(),
+                overflowHandler(overflowPolicy));
+
+        log.info("Sentiment analysis stage started: workers={}, queueCapacity={}, overflowPolicy={}",
+                poolSize, queueCapacity, overflowPolicy);
+    }
+
+    /**
+     * Queue an already-persisted article for sentiment analysis. Never blocks unless the overflow
+     * policy is CALLER_RUNS and the queue is full.
+     */
+    public void submit(Article article) {
+        if (article == null || article.getId() == null) return;
+
+        UUID articleId = article.getId();
+        String text = SentimentService.textOf(article);
+
+        submitted.incrementAndGet();
+        executor.execute(() -> analyzeAndSave(articleId, text));
+    }
+
+    private void analyzeAndSave(UUID articleId, String text) {
+        try {
+            // queued articles wait for the background model load instead of failing
+            sentimentService.awaitReady();
+            SentimentResult sr = sentimentService.analyzeText(text);
+            if (sr == null) {
+                log.debug("Sentiment service returned null for article {}", articleId);
+                return;
+            }
+
+            // idempotent: only inserts when label/score changed; empty if the article was deleted meanwhile
+            Optional<Sentiment> saved = sentimentWriter.record(articleId, normalizeLabel(sr.getLabel()), sr.getScore(), sr.isDegraded());
+            if (saved.isEmpty()) {
+                log.debug("Article {} no longer exists, skipping sentiment save", articleId);
+                return;
+            }
+
+            completed.incrementAndGet();
+            log.debug("Sentiment recorded for article {}: {} ({})", articleId, saved.get().getLabel(), saved.get().getScore());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("Sentiment analysis failed for article {}: {}", articleId, e.getMessage(), e);
+        }
+    }
+
+    // --- stats (queue depth etc.) ---
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getRemainingCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    public int getWorkerCount() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                int abandoned = executor.shutdownNow().size();
+                log.info("Sentiment analysis stage stopped with {} queued articles abandoned", abandoned);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- helpers ---
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "sentiment-worker-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private RejectedExecutionHandler overflowHandler(OverflowPolicy policy) {
+        return (task, pool) -> {
+            if (pool.isShutdown()) return;
+            switch (policy) {
+                case CALLER_RUNS -> task.run();
+                case DROP_OLDEST -> {
+                    if (pool.getQueue().poll() != null) dropped.incrementAndGet();
+                    pool.execute(task);
+                }
+                default -> {
+                    dropped.incrementAndGet();
+                    log.debug("Sentiment analysis queue full, dropping newest article");
+                }
+            }
+        };
+    }
+
+    /**
+     * Normalize various sentiment label shapes into a simple Positive/Negative/Neutral set.
+     * Accepts variants like "Very positive", "Positive", "POSITIVE", "neg", etc. This is the form stored in
+     * sentiments.label and articles.sentiment_label.
+     */
+    public static String normalizeLabel(String raw) {
+        if (raw == null) return "Neutral";
+        String s = raw.trim().toLowerCase();
+        if (s.contains("pos") || s.contains("very positive") || s.contains("positive")) return "Positive";
+        if (s.contains("neg") || s.contains("very negative") || s.contains("negative")) return "Negative";
+        // fallback: treat numeric or borderline values as Neutral if unclear
+        if (s.matches("^[0-9]*(\\.[0-9]+)?$")) {
+            try {
+                double v = Double.parseDouble(s);
+                if (v >= 0.66) return "Positive";
+                if (v <= 0.33) return "Negative";
+            } catch (Exception ignored) {}
+        }
+        return "Neutral";
+    }
+}
@@ -0,0 +1,278 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.BackfillCheckpoint;
+import com.sentinova.backend.model.BackfillCheckpoint.State;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.repository.BackfillCheckpointRepository;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resumable re-score of every article (e.g. after a model or threshold change).
+ *
+ * Notes:
+ *  - Walks articles in primary-key (keyset) order, chunk by chunk. Each chunk is analyzed in parallel
+ *    (SentimentService.analyzeAll fans out over the annotator pool) and written with SentimentWriter.recordAll
+ *    in the same transaction as the checkpoint row, so after a crash or restart the job resumes right after
+ *    the last committed chunk. A run left RUNNING is resumed on startup (sentiment.backfill.resume-on-startup).
+ *  - Throttled so live traffic keeps its latency: small chunks, a pause between chunks, a docs/second cap,
+ *    and it backs off while the live analysis queue (fresh poll results) has work waiting.
+ *  - Unchanged results write nothing (SentimentWriter is idempotent), so re-running a finished job is cheap.
+ */
+@Service
+public class SentimentBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentBackfillService.class);
+    public static final String JOB_NAME = "sentiment-rescore";
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final ArticleRepository articleRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final SentimentService sentimentService;
+    private final SentimentWriter sentimentWriter;
+    private final SentimentAnalysisQueue liveQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "sentiment-backfill");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${sentiment.backfill.chunk-size:32}")
+    private int chunkSize;
+
+    @Value("${sentiment.backfill.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${sentiment.backfill.max-per-second:20}")
+    private double maxPerSecond;
+
+    @Value("${sentiment.backfill.live-queue-backoff-ms:2000}")
+    private long liveQueueBackoffMs;
+
+    @Value("${sentiment.backfill.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    private volatile boolean pauseRequested;
+    private volatile Future<?> current;
+    // throughput of the current run (in-memory; the checkpoint keeps the totals)
+    private volatile long runStartNanos;
+    private volatile long runProcessed;
+
+    public SentimentBackfillService(ArticleRepository articleRepository,
+                                    BackfillCheckpointRepository checkpointRepository,
+                                    SentimentService sentimentService,
+                                    SentimentWriter sentimentWriter,
+                                    SentimentAnalysisQueue liveQueue,
+                                    PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.sentimentService = sentimentService;
+        this.sentimentWriter = sentimentWriter;
+        this.liveQueue = liveQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIfInterrupted() {
+        if (!resumeOnStartup) return;
+        checkpointRepository.findById(JOB_NAME)
+                .filter(cp -> cp.getState() == State.RUNNING)
+                .ifPresent(cp -> {
+                    log.info("Resuming sentiment backfill after article {} ({} processed so far)", cp.getLastArticleId(), cp.getProcessed());
+                    launch();
+                });
+    }
+
+    /**
+     * Start (or resume) the job. restart=true discards the checkpoint and re-scores from the first article.
+     * Returns false if a run is already active.
+     */
+    public synchronized boolean start(boolean restart) {
+        if (isActive()) return false;
+
+        BackfillCheckpoint cp = checkpointRepository.findById(JOB_NAME).orElseGet(() -> new BackfillCheckpoint(JOB_NAME));
+        if (restart || cp.getState() == State.COMPLETED || cp.getState() == State.IDLE) {
+            cp.setLastArticleId(null);
+            cp.setProcessed(0);
+            cp.setFailed(0);
+            cp.setStartedAt(OffsetDateTime.now());
+        }
+        cp.setSignature(sentimentService.getPipelineSignature());
+        cp.setState(State.RUNNING);
+        cp.setLastError(null);
+        checkpointRepository.save(cp);
+
+        launch();
+        return true;
+    }
+
+    /**
+     * Ask the running job to stop after its current chunk. The checkpoint keeps its position.
+     */
+    public boolean pause() {
+        if (!isActive()) return false;
+        pauseRequested = true;
+        return true;
+    }
+
+    public boolean isActive() {
+        Future<?> f = current;
+        return f != null && !f.isDone();
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        BackfillCheckpoint cp = checkpointRepository.findById(JOB_NAME).orElse(null);
+        out.put("job", JOB_NAME);
+        out.put("active", isActive());
+        out.put("pauseRequested", pauseRequested);
+        if (cp != null) {
+            out.put("state", cp.getState());
+            out.put("processed", cp.getProcessed());
+            out.put("failed", cp.getFailed());
+            out.put("lastArticleId", cp.getLastArticleId());
+            out.put("startedAt", cp.getStartedAt());
+            out.put("updatedAt", cp.getUpdatedAt());
+            out.put("signature", cp.getSignature());
+            if (cp.getLastError() != null) out.put("lastError", cp.getLastError());
+        } else {
+            out.put("state", State.IDLE);
+        }
+        double seconds = runStartNanos > 0 ? (System.nanoTime() - runStartNanos) / 1e9 : 0;
+        out.put("docsPerSecond", seconds > 0 ? runProcessed / seconds : 0.0);
+        out.put("totalArticles", articleRepository.count());
+        return out;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pauseRequested = true;
+        runner.shutdownNow();
+    }
+
+    private void launch() {
+        pauseRequested = false;
+        runStartNanos = System.nanoTime();
+        runProcessed = 0;
+        current = runner.submit(this::run);
+    }
+
+    private void run() {
+        try {
+            sentimentService.awaitReady();
+            BackfillCheckpoint cp = checkpointRepository.findById(JOB_NAME).orElseThrow();
+            UUID after = cp.getLastArticleId() != null ? cp.getLastArticleId() : MIN_UUID;
+
+            while (!pauseRequested) {
+                if (liveQueue.getQueueDepth() > 0) {
+                    // live poll results first
+                    Thread.sleep(liveQueueBackoffMs);
+                    continue;
+                }
+
+                List<Article> chunk = articleRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, Math.max(1, chunkSize)));
+                if (chunk.isEmpty()) {
+                    finish(State.COMPLETED, null);
+                    log.info("Sentiment backfill completed");
+                    return;
+                }
+
+                long chunkStart = System.nanoTime();
+                after = processChunk(chunk);
+                runProcessed += chunk.size();
+                throttle(chunk.size(), System.nanoTime() - chunkStart);
+            }
+
+            finish(State.PAUSED, null);
+            log.info("Sentiment backfill paused after article {}", after);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // stays RUNNING in the checkpoint: resumed on next startup
+        } catch (Exception e) {
+            log.warn("Sentiment backfill failed: {}", e.getMessage(), e);
+            finish(State.FAILED, e.getMessage());
+        }
+    }
+
+    private UUID processChunk(List<Article> chunk) {
+        List<String> texts = new ArrayList<>(chunk.size());
+        for (Article a : chunk) texts.add(SentimentService.textOf(a));
+
+        List<SentimentWriter.Pending> pending = new ArrayList<>(chunk.size());
+        long failedInChunk = 0;
+        try {
+            List<SentimentResult> results = sentimentService.analyzeAll(texts);
+            for (int i = 0; i < chunk.size(); i++) {
+                SentimentResult sr = results.get(i);
+                pending.add(new SentimentWriter.Pending(chunk.get(i),
+                        SentimentAnalysisQueue.normalizeLabel(sr.getLabel()), sr.getScore(), sr.isDegraded()));
+            }
+        } catch (RuntimeException e) {
+            // one bad document must not stall the whole run: fall back to one at a time, skipping failures
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    SentimentResult sr = sentimentService.analyzeText(texts.get(i));
+                    pending.add(new SentimentWriter.Pending(chunk.get(i),
+                            SentimentAnalysisQueue.normalizeLabel(sr.getLabel()), sr.getScore(), sr.isDegraded()));
+                } catch (RuntimeException single) {
+                    failedInChunk++;
+                    log.debug("Backfill skipped article {}: {}", chunk.get(i).getId(), single.getMessage());
+                }
+            }
+        }
+
+        UUID last = chunk.get(chunk.size() - 1).getId();
+        long failed = failedInChunk;
+        transactionTemplate.executeWithoutResult(status -> {
+            sentimentWriter.recordAll(pending);
+            BackfillCheckpoint cp = checkpointRepository.findById(JOB_NAME).orElseThrow();
+            cp.setLastArticleId(last);
+            cp.setProcessed(cp.getProcessed() + pending.size());
+            cp.setFailed(cp.getFailed() + failed);
+            checkpointRepository.save(cp);
+        });
+        return last;
+    }
+
+    private void throttle(int docs, long elapsedNanos) throws InterruptedException {
+        long sleepMs = pauseMs;
+        if (maxPerSecond > 0) {
+            long minNanos = (long) (docs / maxPerSecond * 1e9);
+            sleepMs = Math.max(sleepMs, (minNanos - elapsedNanos) / 1_000_000);
+        }
+        if (sleepMs > 0) Thread.sleep(sleepMs);
+    }
+
+    private void finish(State state, String error) {
+        try {
+            checkpointRepository.findById(JOB_NAME).ifPresent(cp -> {
+                cp.setState(state);
+                cp.setLastError(error);
+                checkpointRepository.save(cp);
+            });
+        } catch (Exception e) {
+            log.warn("Could not update backfill checkpoint: {}", e.getMessage());
+        }
+    }
+}
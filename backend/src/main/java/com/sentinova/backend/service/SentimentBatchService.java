@@ -0,0 +1,198 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batch sentiment analysis behind POST /api/sentiments/analyze/batch.
+ *
+ * Notes:
+ *  - Items flow through a Flux: article ids are loaded in chunks (findAllById), texts are analyzed through
+ *    SentimentService with at most `concurrency` analyses in flight per request, results for articles are
+ *    persisted in batches (SentimentWriter.recordAll), and each result is emitted as soon as its batch is
+ *    written. Nothing holds the whole result set in memory.
+ *  - Results arrive in completion order, not request order; each carries the index of its input item.
+ *  - A failing item produces a result line with "error" instead of failing the stream.
+ */
+@Service
+public class SentimentBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentBatchService.class);
+
+    private final ArticleRepository articleRepository;
+    private final SentimentService sentimentService;
+    private final SentimentWriter sentimentWriter;
+
+    @Value("${sentiment.batch.load-chunk-size:100}")
+    private int loadChunkSize;
+
+    @Value("${sentiment.batch.write-batch-size:50}")
+    private int writeBatchSize;
+
+    @Value("${sentiment.batch.write-max-delay-ms:500}")
+    private long writeMaxDelayMs;
+
+    public SentimentBatchService(ArticleRepository articleRepository,
+                                 SentimentService sentimentService,
+                                 SentimentWriter sentimentWriter) {
+        this.articleRepository = articleRepository;
+        this.sentimentService = sentimentService;
+        this.sentimentWriter = sentimentWriter;
+    }
+
+    /**
+     * Analyze articles (saved when save=true) and free texts (never saved), streaming one result per item.
+     */
+    public Flux<BatchItemResult> analyze(List<UUID> articleIds, List<String> texts, boolean save, int concurrency) {
+        List<UUID> ids = articleIds != null ? articleIds : List.of();
+        List<String> freeTexts = texts != null ? texts : List.of();
+
+        Flux<WorkItem> articleItems = Flux.range(0, ids.size())
+                .buffer(Math.max(1, loadChunkSize))
+                .concatMap(indexes -> Mono.fromCallable(() -> loadChunk(ids, indexes))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMapIterable(items -> items);
+
+        Flux<WorkItem> textItems = Flux.range(0, freeTexts.size())
+                .map(i -> WorkItem.text(ids.size() + i, freeTexts.get(i)));
+
+        return Flux.concat(articleItems, textItems)
+                .flatMap(item -> Mono.fromCallable(() -> analyzeOne(item))
+                        .subscribeOn(Schedulers.boundedElastic()), Math.max(1, concurrency))
+                .bufferTimeout(Math.max(1, writeBatchSize), Duration.ofMillis(Math.max(1, writeMaxDelayMs)))
+                .concatMap(batch -> Mono.fromCallable(() -> persist(batch, save))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMapIterable(batch -> batch);
+    }
+
+    private List<WorkItem> loadChunk(List<UUID> ids, List<Integer> indexes) {
+        List<UUID> chunk = new ArrayList<>(indexes.size());
+        for (int i : indexes) chunk.add(ids.get(i));
+
+        Map<UUID, Article> found = new HashMap<>();
+        for (Article a : articleRepository.findAllById(chunk)) found.put(a.getId(), a);
+
+        List<WorkItem> items = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            UUID id = ids.get(i);
+            Article article = id != null ? found.get(id) : null;
+            items.add(article != null ? WorkItem.article(i, article) : WorkItem.missing(i, id));
+        }
+        return items;
+    }
+
+    private WorkItem analyzeOne(WorkItem item) {
+        if (item.result.getError() != null) return item;
+        try {
+            String text = item.article != null ? SentimentService.textOf(item.article) : item.text;
+            SentimentResult sr = sentimentService.analyzeText(text);
+            item.result.label = SentimentAnalysisQueue.normalizeLabel(sr.getLabel());
+            item.result.score = sr.getScore();
+            item.degraded = sr.isDegraded();
+        } catch (Exception e) {
+            item.result.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        return item;
+    }
+
+    private List<BatchItemResult> persist(List<WorkItem> batch, boolean save) {
+        List<BatchItemResult> out = new ArrayList<>(batch.size());
+        List<WorkItem> toSave = new ArrayList<>();
+        List<SentimentWriter.Pending> pending = new ArrayList<>();
+
+        for (WorkItem item : batch) {
+            if (save && item.article != null && item.result.error == null) {
+                toSave.add(item);
+                pending.add(new SentimentWriter.Pending(item.article, item.result.label, item.result.score, item.degraded));
+            }
+            out.add(item.result);
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                sentimentWriter.recordAll(pending);
+                for (WorkItem item : toSave) item.result.saved = true;
+            } catch (Exception e) {
+                log.warn("Batch sentiment write failed for {} articles: {}", pending.size(), e.getMessage(), e);
+                for (WorkItem item : toSave) item.result.error = "failed to save sentiment";
+            }
+        }
+        return out;
+    }
+
+    private static final class WorkItem {
+        final Article article;
+        final String text;
+        final BatchItemResult result;
+        boolean degraded; // engine fallback, see SentimentResult
+
+        private WorkItem(Article article, String text, BatchItemResult result) {
+            this.article = article;
+            this.text = text;
+            this.result = result;
+        }
+
+        static WorkItem article(int index, Article article) {
+            BatchItemResult r = new BatchItemResult(index);
+            r.articleId = article.getId();
+            return new WorkItem(article, null, r);
+        }
+
+        static WorkItem missing(int index, UUID id) {
+            BatchItemResult r = new BatchItemResult(index);
+            r.articleId = id;
+            r.error = "article not found";
+            return new WorkItem(null, null, r);
+        }
+
+        static WorkItem text(int index, String text) {
+            return new WorkItem(null, text, new BatchItemResult(index));
+        }
+    }
+
+    /**
+     * One NDJSON line. index = position in articleIds, then texts continue after the last article index.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class BatchItemResult {
+        private final int index;
+        private UUID articleId;
+        private String label;
+        private Double score;
+        private Boolean saved;
+        private String error;
+
+        BatchItemResult(int index) {
+            this.index = index;
+        }
+
+        public static BatchItemResult failure(String error) {
+            BatchItemResult r = new BatchItemResult(-1);
+            r.error = error;
+            return r;
+        }
+
+        public int getIndex() { return index; }
+        public UUID getArticleId() { return articleId; }
+        public String getLabel() { return label; }
+        public Double getScore() { return score; }
+        public Boolean getSaved() { return saved; }
+        public String getError() { return error; }
+    }
+}
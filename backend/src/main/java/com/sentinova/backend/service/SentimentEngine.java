@@ -0,0 +1,53 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A way of turning text into a SentimentResult. SentimentService picks the engines (tiering, caching);
+ * engines themselves are stateless per call and safe to use from many threads.
+ */
+public interface SentimentEngine {
+
+    enum ModelState { LOADING, READY, FAILED }
+
+    /**
+     * Short engine id, e.g. "lexicon" or "corenlp" (used in metrics and reports).
+     */
+    String getName();
+
+    /**
+     * Identifies the engine and its configuration; part of the result-cache key, so any change to
+     * models or settings must change it.
+     */
+    String getSignature();
+
+    SentimentResult analyze(String text);
+
+    /**
+     * Analyze several texts; results are in input order. Engines with internal parallelism override this.
+     */
+    default List<SentimentResult> analyzeAll(List<String> texts) {
+        List<SentimentResult> results = new ArrayList<>(texts.size());
+        for (String text : texts) results.add(analyze(text));
+        return results;
+    }
+
+    /**
+     * Load models synchronously (no-op if already loaded). Called in the background after startup.
+     */
+    default void warmUp() {
+    }
+
+    default ModelState getModelState() {
+        return ModelState.READY;
+    }
+
+    /**
+     * Block until the engine can analyze. Engines without a load phase return immediately.
+     */
+    default void awaitReady() throws InterruptedException {
+    }
+}
@@ -0,0 +1,101 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.repository.SentimentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One-off compaction of the sentiments history.
+ *
+ * Before SentimentWriter made writes idempotent, every poll appended an identical row per article. This job
+ * collapses each run of consecutive identical rows (label, score, model_version, input_hash) to its last row,
+ * so the latest sentiment of every article stays exactly as it was.
+ *
+ * Notes:
+ *  - Walks article ids in keyset order, a small batch of articles per transaction, so it only ever holds
+ *    row locks on that batch (no table lock); live polling keeps writing while it runs.
+ *  - Only non-latest rows are deleted, so nothing the feeds serve changes: the hot feed is not reloaded and
+ *    FeedVersion is not bumped (ETags and cached responses stay valid). A /with-sentiments copy revalidated
+ *    against an older ETag may still list the removed duplicates until the next real change.
+ *  - Disabled by default; enable with sentiment.compaction.run-on-startup=true and restart once. Runs on its own
+ *    thread (BackgroundJobRunner), not on the startup thread.
+ */
+@Component
+public class SentimentHistoryCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentHistoryCompactor.class);
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final SentimentRepository sentimentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BackgroundJobRunner runner = new BackgroundJobRunner("sentiment-compaction");
+
+    @Value("${sentiment.compaction.run-on-startup:false}")
+    private boolean runOnStartup;
+
+    @Value("${sentiment.compaction.batch-size:200}")
+    private int batchSize;
+
+    @Value("${sentiment.compaction.pause-ms:50}")
+    private long pauseMs;
+
+    public SentimentHistoryCompactor(SentimentRepository sentimentRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.sentimentRepository = sentimentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (runOnStartup) runner.trigger(this::compact);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdown();
+    }
+
+    /**
+     * Collapse duplicate history rows for all articles. Returns the number of rows deleted.
+     */
+    public long compact() {
+        UUID after = MIN_UUID;
+        long deleted = 0;
+        long articles = 0;
+
+        log.info("Sentiment history compaction started (batch size {})", batchSize);
+        try {
+            while (true) {
+                List<UUID> ids = sentimentRepository.findArticleIdsAfter(after, batchSize);
+                if (ids.isEmpty()) break;
+
+                Integer removed = transactionTemplate.execute(status -> sentimentRepository.deleteConsecutiveDuplicates(ids));
+                deleted += removed != null ? removed : 0;
+                articles += ids.size();
+                after = ids.get(ids.size() - 1);
+
+                if (pauseMs > 0) Thread.sleep(pauseMs); // leave room for live traffic
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Sentiment history compaction interrupted after {} articles", articles);
+            return deleted;
+        } catch (Exception e) {
+            log.warn("Sentiment history compaction stopped after {} articles: {}", articles, e.getMessage(), e);
+            return deleted;
+        }
+
+        log.info("Sentiment history compaction finished: {} articles scanned, {} duplicate rows deleted", articles, deleted);
+        return deleted;
+    }
+}
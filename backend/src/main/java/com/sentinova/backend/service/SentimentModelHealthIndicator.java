@@ -0,0 +1,44 @@
+package com.sentinova.backend.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the full sentiment engine's model state under /actuator/health (component "sentimentModel").
+ *
+ * READY -> UP, LOADING -> LOADING, FAILED -> MODEL_FAILED. The two custom statuses rank below UP in the root
+ * status order, so /actuator/health (and anything probing it) stays UP while models load or after a load failure:
+ * read endpoints work either way. Only the sentiment group ranks them above UP and maps them to 503, so
+ * /actuator/health/sentiment gates analysis traffic. It is deliberately kept out of the readiness group too.
+ */
+@Component("sentimentModel")
+public class SentimentModelHealthIndicator implements HealthIndicator {
+
+    static final Status LOADING = new Status("LOADING", "Sentiment models are loading");
+    static final Status MODEL_FAILED = new Status("MODEL_FAILED", "Sentiment models failed to load");
+
+    private final SentimentService sentimentService;
+
+    public SentimentModelHealthIndicator(SentimentService sentimentService) {
+        this.sentimentService = sentimentService;
+    }
+
+    @Override
+    public Health health() {
+        SentimentEngine engine = sentimentService.getFullEngine();
+        SentimentEngine.ModelState state = engine.getModelState();
+        Health.Builder builder = switch (state) {
+            case READY -> Health.up();
+            case LOADING -> Health.status(LOADING);
+            case FAILED -> Health.status(MODEL_FAILED);
+        };
+        builder.withDetail("engine", engine.getName()).withDetail("state", state.name());
+        if (engine instanceof CoreNlpSentimentEngine coreNlp) {
+            builder.withDetail("annotatorThreads", coreNlp.getAnnotatorThreads());
+            if (state == SentimentEngine.ModelState.READY) builder.withDetail("loadMillis", coreNlp.getLoadMillis());
+        }
+        return builder.build();
+    }
+}
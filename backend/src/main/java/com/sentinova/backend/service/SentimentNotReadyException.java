@@ -0,0 +1,19 @@
+package com.sentinova.backend.service;
+
+/**
+ * Thrown when sentiment analysis is requested while the CoreNLP models are still loading (or failed to load).
+ * Controllers map it to 503 with a Retry-After header.
+ */
+public class SentimentNotReadyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SentimentNotReadyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,119 @@
+package com.sentinova.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sentinova.backend.model.ArticleKeys;
+import com.sentinova.backend.repository.SentimentCacheRepository;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded memo of sentiment results in front of the CoreNLP pipeline.
+ *
+ * Notes:
+ *  - Key = sha256(pipeline signature + NUL + normalized text). Normalization is NFC + whitespace collapse +
+ *    trim only (no lowercasing: casing affects the parse), so two inputs share a key only if CoreNLP would
+ *    see the same tokens. Changing the pipeline config changes every key, so stale results are never served.
+ *  - Size- and TTL-evicted (sentiment.cache.max-size / sentiment.cache.ttl). Hit/miss/eviction metrics are
+ *    published as cache.gets / cache.evictions / cache.size with cache=sentiment.results.
+ *  - sentiment.cache.persistent=true adds a second level in the sentiment_cache table so results survive
+ *    restarts; memory misses that hit the table count as sentiment.cache.persistent.hits.
+ *  - Lookups and stores never throw: a broken second level only costs a re-parse.
+ */
+@Component
+public class SentimentResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentResultCache.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<String, SentimentResult> cache;
+    private final SentimentCacheRepository cacheRepository;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final Counter persistentHits;
+
+    public SentimentResultCache(SentimentCacheRepository cacheRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${sentiment.cache.max-size:10000}") long maxSize,
+                                @Value("${sentiment.cache.ttl:24h}") Duration ttl,
+                                @Value("${sentiment.cache.persistent:false}") boolean persistent) {
+        this.cacheRepository = cacheRepository;
+        this.persistent = persistent;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sentiment.results");
+        this.persistentHits = Counter.builder("sentiment.cache.persistent.hits")
+                .description("Sentiment results served from the sentiment_cache table after a memory miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cache key for a text analyzed by the pipeline identified by pipelineSignature.
+     */
+    public static String key(String pipelineSignature, String text) {
+        return ArticleKeys.sha256Hex(pipelineSignature + '\0' + normalize(text));
+    }
+
+    static String normalize(String text) {
+        if (text == null) return "";
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(nfc).replaceAll(" ").trim();
+    }
+
+    /**
+     * Cached result for the key, or null on a miss.
+     */
+    public SentimentResult get(String key) {
+        SentimentResult hit = cache.getIfPresent(key);
+        if (hit != null || !persistent) return hit;
+
+        try {
+            hit = cacheRepository.findByCacheKeyAndCreatedAtAfter(key, OffsetDateTime.now().minus(ttl))
+                    .map(e -> new SentimentResult(e.getLabel(), e.getScore()))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.debug("sentiment_cache lookup failed: {}", e.getMessage());
+            return null;
+        }
+        if (hit != null) {
+            persistentHits.increment();
+            cache.put(key, hit);
+        }
+        return hit;
+    }
+
+    public void put(String key, SentimentResult result) {
+        if (result == null) return;
+        cache.put(key, result);
+        if (!persistent) return;
+
+        try {
+            cacheRepository.upsert(key, result.getLabel(), result.getScore());
+        } catch (Exception e) {
+            log.debug("sentiment_cache store failed: {}", e.getMessage());
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
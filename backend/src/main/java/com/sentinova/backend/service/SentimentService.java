@@ -1,24 +1,86 @@
 package com.sentinova.backend.service;
 
-import edu.stanford.nlp.pipeline.*;
+import com.sentinova.backend.model.Article;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 
 /**
- * Local sentiment analysis using Stanford CoreNLP.
+ * Sentiment analysis entry point.
  * Returns SentimentResult { label: "Positive" / "Negative" / "Neutral", score: double (0.0-1.0) }.
+ *
+ * Notes:
+ *  - Tiered (sentiment.tiered.enabled=true): LexiconSentimentEngine scores every text first; only texts whose
+ *    lexicon confidence is below sentiment.tiered.confidence-threshold go to the full engine. With tiering
+ *    off every text goes to the full engine.
+ *  - Full engine: sentiment.engine=corenlp (CoreNlpSentimentEngine, constituency parse, default) or
+ *    opennlp (OpenNlpSentimentEngine, document categorizer: much faster, somewhat less accurate).
+ *  - Results are memoized in SentimentResultCache, keyed by the normalized text and the engine signature
+ *    (tiering settings included), so re-analyzing the same title+content skips both tiers.
+ *  - Per-tier counts: sentiment.engine.tier{tier=lexicon|full}; agreement between the tiers on a labeled
+ *    sample is reported by SentimentTierEndpoint (/actuator/sentimenttiers).
+ *  - The full engine loads its models after startup; until then ambiguous texts throw
+ *    SentimentNotReadyException, while confident lexicon results and cache hits are still served.
  */
 @Service
 public class SentimentService {
 
-    private final StanfordCoreNLP pipeline;
+    private static final Logger log = LoggerFactory.getLogger(SentimentService.class);
+
+    private final SentimentResultCache resultCache;
+    private final LexiconSentimentEngine lexiconEngine;
+    private final SentimentEngine fullEngine;
+    private final boolean tiered;
+    private final double confidenceThreshold;
+    private final String signature;
+
+    private final Counter lexiconTier;
+    private final Counter fullTier;
+
+    public SentimentService(SentimentResultCache resultCache,
+                            LexiconSentimentEngine lexiconEngine,
+                            CoreNlpSentimentEngine coreNlpEngine,
+                            OpenNlpSentimentEngine openNlpEngine,
+                            MeterRegistry meterRegistry,
+                            @Value("${sentiment.engine:corenlp}") String engine,
+                            @Value("${sentiment.tiered.enabled:true}") boolean tiered,
+                            @Value("${sentiment.tiered.confidence-threshold:0.6}") double confidenceThreshold) {
+        this.resultCache = resultCache;
+        this.lexiconEngine = lexiconEngine;
+        this.fullEngine = switch (engine.trim().toLowerCase(Locale.ROOT)) {
+            case "corenlp" -> coreNlpEngine;
+            case "opennlp" -> openNlpEngine;
+            default -> throw new IllegalArgumentException("sentiment.engine must be corenlp or opennlp, got: " + engine);
+        };
+        this.tiered = tiered;
+        this.confidenceThreshold = confidenceThreshold;
+        this.signature = tiered
+                ? "tiered(" + confidenceThreshold + "):" + lexiconEngine.getSignature() + "|" + fullEngine.getSignature()
+                : fullEngine.getSignature();
+
+        this.lexiconTier = Counter.builder("sentiment.engine.tier").tag("tier", "lexicon")
+                .description("Analyses answered by the lexicon tier").register(meterRegistry);
+        this.fullTier = Counter.builder("sentiment.engine.tier").tag("tier", "full")
+                .description("Analyses that needed the full parser").register(meterRegistry);
+    }
 
-    public SentimentService() {
-        // Setup CoreNLP pipeline
-        Properties props = new Properties();
-        props.setProperty("annotators", "tokenize,ssplit,parse,sentiment");
-        this.pipeline = new StanfordCoreNLP(props);
+    /**
+     * Load the full engine's models in the background once the app serves requests.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpInBackground() {
+        log.info("Application ready after {} ms, loading {} sentiment models in the background",
+                java.lang.management.ManagementFactory.getRuntimeMXBean().getUptime(), fullEngine.getName());
+        Thread loader = new Thread(fullEngine::warmUp, fullEngine.getName() + "-loader");
+        loader.setDaemon(true);
+        loader.start();
     }
 
     public SentimentResult analyzeText(String text) {
@@ -26,63 +88,147 @@ public class SentimentService {
             return new SentimentResult("Neutral", 0.5); // default neutral
         }
 
-        CoreDocument doc = new CoreDocument(text);
-        pipeline.annotate(doc);
-
-        int totalScore = 0;
-        int count = 0;
+        String key = SentimentResultCache.key(signature, text);
+        SentimentResult cached = resultCache.get(key);
+        if (cached != null) return cached;
 
-        for (CoreSentence sentence : doc.sentences()) {
-            String sentiment = sentence.sentiment();
-            totalScore += mapSentimentToScore(sentiment);
-            count++;
+        SentimentResult result = lexiconVerdict(text);
+        if (result == null) {
+            fullTier.increment();
+            result = fullEngine.analyze(text);
         }
+        if (!result.isDegraded()) resultCache.put(key, result); // a budget fallback gets a real parse next time
+        return result;
+    }
 
-        int avgScore = count > 0 ? Math.round((float) totalScore / count) : 2;
-        String label = mapScoreToThreeClass(avgScore);
-        double normalized = avgScore / 4.0; // 0.0–1.0
-
-        return new SentimentResult(label, normalized);
+    /**
+     * Text analyzed for an article: title + ". " + content (same shape everywhere so cache keys line up).
+     */
+    public static String textOf(Article article) {
+        return (article.getTitle() == null ? "" : article.getTitle()) + ". "
+                + (article.getContent() == null ? "" : article.getContent());
     }
 
-    private int mapSentimentToScore(String sentiment) {
-        switch (sentiment) {
-            case "Very negative": return 0;
-            case "Negative": return 1;
-            case "Neutral": return 2;
-            case "Positive": return 3;
-            case "Very positive": return 4;
-            default: return 2;
+    /**
+     * Analyze several texts; ambiguous cache misses are fully parsed together (in parallel on the
+     * annotator pool). Results are in input order.
+     */
+    public List<SentimentResult> analyzeAll(List<String> texts) {
+        List<SentimentResult> results = new ArrayList<>(Collections.nCopies(texts.size(), null));
+        List<Integer> missIndexes = new ArrayList<>();
+        List<String> missTexts = new ArrayList<>();
+        List<String> missKeys = new ArrayList<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                results.set(i, new SentimentResult("Neutral", 0.5));
+                continue;
+            }
+            String key = SentimentResultCache.key(signature, text);
+            SentimentResult result = resultCache.get(key);
+            if (result == null) {
+                result = lexiconVerdict(text);
+                if (result != null) resultCache.put(key, result);
+            }
+            if (result != null) {
+                results.set(i, result);
+            } else {
+                missIndexes.add(i);
+                missTexts.add(text);
+                missKeys.add(key);
+            }
+        }
+
+        if (!missTexts.isEmpty()) {
+            fullTier.increment(missTexts.size());
+            List<SentimentResult> parsed = fullEngine.analyzeAll(missTexts);
+            for (int j = 0; j < parsed.size(); j++) {
+                if (!parsed.get(j).isDegraded()) resultCache.put(missKeys.get(j), parsed.get(j));
+                results.set(missIndexes.get(j), parsed.get(j));
+            }
         }
+        return results;
+    }
+
+    // Lexicon result when tiering is on and the lexicon is confident enough, else null (needs a full parse)
+    private SentimentResult lexiconVerdict(String text) {
+        if (!tiered) return null;
+        LexiconSentimentEngine.LexiconScore score = lexiconEngine.score(text);
+        if (score.getConfidence() < confidenceThreshold) return null;
+        lexiconTier.increment();
+        return score.toResult();
     }
 
     /**
-     * Map fine-grained (0–4) to coarse 3-class labels.
+     * Identifies engines + tiering config for cache keys; any change invalidates cached results.
      */
-    private String mapScoreToThreeClass(int score) {
-        if (score <= 1) return "Negative";
-        if (score == 2) return "Neutral";
-        return "Positive"; // 3 or 4
+    public String getPipelineSignature() {
+        return signature;
+    }
+
+    public boolean isTiered() {
+        return tiered;
+    }
+
+    public double getConfidenceThreshold() {
+        return confidenceThreshold;
+    }
+
+    public long getLexiconTierCount() {
+        return (long) lexiconTier.count();
+    }
+
+    public long getFullTierCount() {
+        return (long) fullTier.count();
+    }
+
+    public SentimentEngine getFullEngine() {
+        return fullEngine;
+    }
+
+    // --- full-engine readiness (models load in the background after startup) ---
+    public SentimentEngine.ModelState getModelState() {
+        return fullEngine.getModelState();
+    }
+
+    public boolean isReady() {
+        return fullEngine.getModelState() == SentimentEngine.ModelState.READY;
+    }
+
+    public void awaitReady() throws InterruptedException {
+        fullEngine.awaitReady();
     }
 
     /**
      * Minimal POJO for sentiment results.
+     *
+     * degraded = the engine could not produce its normal result (e.g. CoreNLP ran out of its time budget and
+     * answered with the lexicon score). Degraded results are never cached, and SentimentWriter stamps them with
+     * a model version that the stale re-scorer picks up again later.
      */
     public static class SentimentResult {
         private final String label;
         private final Double score;
+        private final boolean degraded;
 
         public SentimentResult(String label, Double score) {
+            this(label, score, false);
+        }
+
+        public SentimentResult(String label, Double score, boolean degraded) {
             this.label = label;
             this.score = score;
+            this.degraded = degraded;
         }
 
         public String getLabel() { return label; }
         public Double getScore() { return score; }
+        public boolean isDegraded() { return degraded; }
 
         @Override
         public String toString() {
-            return "SentimentResult{label='" + label + "', score=" + score + "}";
+            return "SentimentResult{label='" + label + "', score=" + score + (degraded ? ", degraded" : "") + "}";
         }
     }
 }
@@ -0,0 +1,139 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Background incremental re-score: only articles whose latest sentiment is stale.
+ *
+ * Stale = no sentiment yet, a model_version other than the current pipeline signature (engine, model or tiering
+ * change), or an input_hash other than the article's content_hash (edited since it was scored).
+ *
+ * Notes:
+ *  - Each run walks ArticleRepository.findStaleSentimentAfter in id (keyset) order, one small batch per
+ *    transaction, so the work is proportional to what changed rather than to the corpus.
+ *  - Skips the run while the models are loading, while the full backfill (SentimentBackfillService) is active,
+ *    and backs off while the live analysis queue has work waiting.
+ *  - Runs on its own thread (BackgroundJobRunner): the @Scheduled trigger returns at once, so the sleeps
+ *    between batches never hold the shared scheduler thread that news polling runs on.
+ *  - Articles re-scored: sentiment.rescore.articles counter.
+ */
+@Component
+public class SentimentStaleRescorer {
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentStaleRescorer.class);
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final ArticleRepository articleRepository;
+    private final SentimentService sentimentService;
+    private final SentimentWriter sentimentWriter;
+    private final SentimentAnalysisQueue liveQueue;
+    private final SentimentBackfillService backfillService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter rescored;
+    private final BackgroundJobRunner runner = new BackgroundJobRunner("sentiment-rescore");
+
+    @Value("${sentiment.rescore.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sentiment.rescore.batch-size:32}")
+    private int batchSize;
+
+    @Value("${sentiment.rescore.max-per-run:1000}")
+    private int maxPerRun;
+
+    @Value("${sentiment.rescore.pause-ms:200}")
+    private long pauseMs;
+
+    public SentimentStaleRescorer(ArticleRepository articleRepository,
+                                  SentimentService sentimentService,
+                                  SentimentWriter sentimentWriter,
+                                  SentimentAnalysisQueue liveQueue,
+                                  SentimentBackfillService backfillService,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        this.sentimentService = sentimentService;
+        this.sentimentWriter = sentimentWriter;
+        this.liveQueue = liveQueue;
+        this.backfillService = backfillService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rescored = Counter.builder("sentiment.rescore.articles")
+                .description("Articles re-scored because their latest sentiment was stale").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${sentiment.rescore.initial-delay-ms:60000}",
+               fixedDelayString = "${sentiment.rescore.interval-ms:300000}")
+    public void scheduledRun() {
+        if (!enabled || !sentimentService.isReady() || backfillService.isActive()) return;
+        runner.trigger(this::rescoreStale);
+    }
+
+    public boolean isRunning() {
+        return runner.isRunning();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdown();
+    }
+
+    /**
+     * Re-score up to sentiment.rescore.max-per-run stale articles. Returns the number re-scored.
+     */
+    public long rescoreStale() {
+        String modelVersion = sentimentService.getPipelineSignature();
+        UUID after = MIN_UUID;
+        long done = 0;
+
+        try {
+            while (done < maxPerRun) {
+                if (liveQueue.getQueueDepth() > 0) break; // live poll results first; next run picks up from the start
+
+                int limit = (int) Math.min(Math.max(1, batchSize), maxPerRun - done);
+                List<Article> stale = articleRepository.findStaleSentimentAfter(after, modelVersion, limit);
+                if (stale.isEmpty()) break;
+
+                List<String> texts = new ArrayList<>(stale.size());
+                for (Article a : stale) texts.add(SentimentService.textOf(a));
+                List<SentimentResult> results = sentimentService.analyzeAll(texts);
+
+                List<SentimentWriter.Pending> pending = new ArrayList<>(stale.size());
+                for (int i = 0; i < stale.size(); i++) {
+                    SentimentResult sr = results.get(i);
+                    pending.add(new SentimentWriter.Pending(stale.get(i),
+                            SentimentAnalysisQueue.normalizeLabel(sr.getLabel()), sr.getScore(), sr.isDegraded()));
+                }
+                transactionTemplate.executeWithoutResult(status -> sentimentWriter.recordAll(pending));
+
+                done += stale.size();
+                rescored.increment(stale.size());
+                after = stale.get(stale.size() - 1).getId();
+
+                if (pauseMs > 0) Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Stale sentiment re-score stopped after {} articles: {}", done, e.getMessage(), e);
+        }
+
+        if (done > 0) log.info("Re-scored {} articles with stale sentiments", done);
+        return done;
+    }
+}
@@ -0,0 +1,137 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/sentimenttiers: tier hit rates and threshold tuning for the tiered sentiment engine.
+ *
+ * GET  -> live counts of analyses answered by the lexicon vs. the full parser.
+ * POST -> runs both tiers over the labeled sample (sentiment.tiered.sample-location) and reports, per
+ *         confidence threshold: how many texts the lexicon would answer, how often it agrees with the full
+ *         engine on those, and the accuracy of the tiered result against the labels. Needs the full engine loaded.
+ */
+@Component
+@Endpoint(id = "sentimenttiers")
+public class SentimentTierEndpoint {
+
+    private static final double[] THRESHOLDS = {0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9};
+
+    private final SentimentService sentimentService;
+    private final LexiconSentimentEngine lexiconEngine;
+    private final String sampleLocation;
+
+    public SentimentTierEndpoint(SentimentService sentimentService,
+                                 LexiconSentimentEngine lexiconEngine,
+                                 @Value("${sentiment.tiered.sample-location:classpath:sentiment/labeled-sample.tsv}") String sampleLocation) {
+        this.sentimentService = sentimentService;
+        this.lexiconEngine = lexiconEngine;
+        this.sampleLocation = sampleLocation;
+    }
+
+    @ReadOperation
+    public Map<String, Object> tiers() {
+        long lexicon = sentimentService.getLexiconTierCount();
+        long full = sentimentService.getFullTierCount();
+        long total = lexicon + full;
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("tiered", sentimentService.isTiered());
+        out.put("confidenceThreshold", sentimentService.getConfidenceThreshold());
+        out.put("lexiconAnswers", lexicon);
+        out.put("fullParses", full);
+        out.put("lexiconHitRate", total == 0 ? 0.0 : (double) lexicon / total);
+        return out;
+    }
+
+    @WriteOperation
+    public Map<String, Object> evaluate(@Nullable Integer limit) throws IOException {
+        List<String[]> sample = loadSample(limit);
+        List<String> texts = new ArrayList<>(sample.size());
+        for (String[] row : sample) texts.add(row[1]);
+
+        List<LexiconSentimentEngine.LexiconScore> lexicon = new ArrayList<>(texts.size());
+        for (String text : texts) lexicon.add(lexiconEngine.score(text));
+        List<SentimentResult> full = sentimentService.getFullEngine().analyzeAll(texts);
+
+        int n = sample.size();
+        int lexiconCorrect = 0, fullCorrect = 0, tiersAgree = 0;
+        for (int i = 0; i < n; i++) {
+            String gold = sample.get(i)[0];
+            if (lexicon.get(i).getLabel().equalsIgnoreCase(gold)) lexiconCorrect++;
+            if (full.get(i).getLabel().equalsIgnoreCase(gold)) fullCorrect++;
+            if (lexicon.get(i).getLabel().equals(full.get(i).getLabel())) tiersAgree++;
+        }
+
+        List<Map<String, Object>> byThreshold = new ArrayList<>();
+        for (double threshold : THRESHOLDS) {
+            int answered = 0, agreeWhenAnswered = 0, tieredCorrect = 0;
+            for (int i = 0; i < n; i++) {
+                String gold = sample.get(i)[0];
+                LexiconSentimentEngine.LexiconScore ls = lexicon.get(i);
+                String tieredLabel;
+                if (ls.getConfidence() >= threshold) {
+                    answered++;
+                    if (ls.getLabel().equals(full.get(i).getLabel())) agreeWhenAnswered++;
+                    tieredLabel = ls.getLabel();
+                } else {
+                    tieredLabel = full.get(i).getLabel();
+                }
+                if (tieredLabel.equalsIgnoreCase(gold)) tieredCorrect++;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("threshold", threshold);
+            row.put("lexiconShare", ratio(answered, n));
+            row.put("agreementWithFullWhenLexicon", answered == 0 ? null : ratio(agreeWhenAnswered, answered));
+            row.put("tieredAccuracy", ratio(tieredCorrect, n));
+            byThreshold.add(row);
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("sampleSize", n);
+        out.put("fullEngine", sentimentService.getFullEngine().getName());
+        out.put("currentThreshold", sentimentService.getConfidenceThreshold());
+        out.put("lexiconAccuracy", ratio(lexiconCorrect, n));
+        out.put("fullAccuracy", ratio(fullCorrect, n));
+        out.put("lexiconFullAgreement", ratio(tiersAgree, n));
+        out.put("thresholds", byThreshold);
+        return out;
+    }
+
+    // rows of {label, text}
+    private List<String[]> loadSample(Integer limit) throws IOException {
+        Resource resource = new DefaultResourceLoader().getResource(sampleLocation);
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                int tab = line.indexOf('\t');
+                if (tab <= 0) continue;
+                rows.add(new String[]{line.substring(0, tab).strip(), line.substring(tab + 1).strip()});
+                if (limit != null && rows.size() >= limit) break;
+            }
+        }
+        return rows;
+    }
+
+    private static double ratio(int part, int whole) {
+        return whole == 0 ? 0.0 : (double) part / whole;
+    }
+}
@@ -0,0 +1,257 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.Sentiment;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.repository.SentimentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Single place where analysis results become Sentiment rows.
+ *
+ * Notes:
+ *  - Writes are idempotent per article: a new row is inserted only when the label, score, model version or
+ *    input hash differs from the article's latest sentiment. Re-analyzing unchanged text with the same pipeline
+ *    returns the existing row instead of appending another history entry.
+ *  - Every row is stamped with the pipeline signature (model_version) and the article's content_hash
+ *    (input_hash); SentimentStaleRescorer uses the stamps to re-score only what is out of date. Degraded results
+ *    (SentimentResult.isDegraded(), e.g. a CoreNLP budget fallback) get signature + BUDGET_FALLBACK_SUFFIX, so
+ *    they count as stale and are re-parsed later. Hand-set labels (recordManual) are stamped
+ *    Sentiment.MANUAL_MODEL_VERSION.
+ *  - The article's denormalized latest-sentiment columns (Article.sentimentLabel/Score/AnalyzedAt) are updated in
+ *    the same transaction as the row, and re-synced when an unchanged result finds them out of step. Every
+ *    sentiment write must go through here; ArticleSentimentRepair fixes drift from anything that did not.
+ *  - Do NOT assign UUIDs manually (let JPA generate them), see NewsPollingService notes.
+ */
+@Service
+public class SentimentWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentWriter.class);
+
+    // scores are derived from small integer buckets; anything closer than this is the same score
+    private static final double SCORE_EPSILON = 1e-9;
+
+    static final String BUDGET_FALLBACK_SUFFIX = "+budget-fallback";
+
+    private final ArticleRepository articleRepository;
+    private final SentimentRepository sentimentRepository;
+    private final SentimentService sentimentService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SentimentWriter(ArticleRepository articleRepository, SentimentRepository sentimentRepository,
+                           SentimentService sentimentService, ApplicationEventPublisher eventPublisher) {
+        this.articleRepository = articleRepository;
+        this.sentimentRepository = sentimentRepository;
+        this.sentimentService = sentimentService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Record a result for an article id. Empty if the article no longer exists.
+     */
+    @Transactional
+    public Optional<Sentiment> record(UUID articleId, String label, Double score) {
+        return record(articleId, label, score, false);
+    }
+
+    @Transactional
+    public Optional<Sentiment> record(UUID articleId, String label, Double score, boolean degraded) {
+        return articleRepository.findById(articleId).map(article -> record(article, label, score, degraded));
+    }
+
+    /**
+     * Record a result for an article, inserting a row only when the result or its stamps actually changed.
+     * Returns the article's latest sentiment afterwards (existing or newly inserted).
+     */
+    @Transactional
+    public Sentiment record(Article article, String label, Double score) {
+        return record(article, label, score, false);
+    }
+
+    @Transactional
+    public Sentiment record(Article article, String label, Double score, boolean degraded) {
+        return write(article, label, score, modelVersion(degraded)).sentiment();
+    }
+
+    /**
+     * Record a label set by hand (POST /api/sentiments), stamped Sentiment.MANUAL_MODEL_VERSION so the stale
+     * re-scorer leaves it alone until the article's content changes. Same idempotency as record().
+     */
+    @Transactional
+    public Recorded recordManual(Article article, String label, Double score) {
+        return write(article, label, score, Sentiment.MANUAL_MODEL_VERSION);
+    }
+
+    /**
+     * The article's latest sentiment after a write, and whether this call inserted it (false = an identical
+     * latest row already existed).
+     */
+    public record Recorded(Sentiment sentiment, boolean inserted) {}
+
+    private Recorded write(Article article, String label, Double score, String modelVersion) {
+        double safeScore = score != null ? score : 0.0;
+        // managed instance (no query when the caller loaded it in this transaction), so the denormalized
+        // columns are flushed with the sentiment row
+        article = articleRepository.findById(article.getId()).orElse(article);
+
+        Optional<Sentiment> latest = sentimentRepository.findTopByArticleOrderByCreatedAtDesc(article);
+        if (latest.isPresent() && sameResult(latest.get(), label, safeScore, modelVersion, article.getContentHash())) {
+            log.debug("Sentiment unchanged for article {} ({}), not writing", article.getId(), label);
+            applyLatest(article, latest.get());
+            return new Recorded(latest.get(), false);
+        }
+
+        Sentiment sentiment = new Sentiment();
+        sentiment.setArticle(article);
+        sentiment.setLabel(label);
+        sentiment.setScore(safeScore);
+        sentiment.setModelVersion(modelVersion);
+        sentiment.setInputHash(article.getContentHash());
+        sentiment.setCreatedAt(OffsetDateTime.now());
+        Sentiment saved = sentimentRepository.save(sentiment);
+        applyLatest(article, saved);
+        return new Recorded(saved, true);
+    }
+
+    /**
+     * Batch form of record(): one query for the articles, one for their latest sentiments, one saveAll for the
+     * rows that changed. Returns the latest sentiment per entry, in input order; entries whose article no longer
+     * exists are left out.
+     */
+    @Transactional
+    public List<Sentiment> recordAll(List<Pending> entries) {
+        if (entries.isEmpty()) return List.of();
+
+        Set<UUID> ids = new HashSet<>();
+        for (Pending p : entries) ids.add(p.getArticle().getId());
+        // managed instances for the denormalized columns (callers often pass articles loaded in another transaction)
+        Map<UUID, Article> managed = new HashMap<>();
+        for (Article a : articleRepository.findAllById(ids)) managed.put(a.getId(), a);
+        Map<UUID, Sentiment> latest = new HashMap<>();
+        for (Sentiment s : sentimentRepository.findLatestByArticleIds(ids)) latest.put(s.getArticle().getId(), s);
+
+        List<Sentiment> out = new ArrayList<>(entries.size());
+        List<Sentiment> toInsert = new ArrayList<>();
+        for (Pending p : entries) {
+            UUID articleId = p.getArticle().getId();
+            Article article = managed.get(articleId);
+            if (article == null) continue; // deleted since it was read
+            double safeScore = p.getScore() != null ? p.getScore() : 0.0;
+            String modelVersion = modelVersion(p.isDegraded());
+            String inputHash = article.getContentHash();
+            Sentiment current = latest.get(articleId);
+            if (current != null && sameResult(current, p.getLabel(), safeScore, modelVersion, inputHash)) {
+                applyLatest(article, current);
+                out.add(current);
+                continue;
+            }
+            Sentiment sentiment = new Sentiment();
+            sentiment.setArticle(article);
+            sentiment.setLabel(p.getLabel());
+            sentiment.setScore(safeScore);
+            sentiment.setModelVersion(modelVersion);
+            sentiment.setInputHash(inputHash);
+            sentiment.setCreatedAt(OffsetDateTime.now());
+            latest.put(articleId, sentiment); // same article twice in one batch: second compares against the first
+            applyLatest(article, sentiment);
+            toInsert.add(sentiment);
+            out.add(sentiment);
+        }
+        sentimentRepository.saveAll(toInsert);
+        log.debug("Recorded {} sentiments ({} unchanged)", entries.size(), entries.size() - toInsert.size());
+        return out;
+    }
+
+    /**
+     * One result waiting to be recorded by recordAll().
+     */
+    public static class Pending {
+        private final Article article;
+        private final String label;
+        private final Double score;
+        private final boolean degraded;
+
+        public Pending(Article article, String label, Double score) {
+            this(article, label, score, false);
+        }
+
+        public Pending(Article article, String label, Double score, boolean degraded) {
+            this.article = article;
+            this.label = label;
+            this.score = score;
+            this.degraded = degraded;
+        }
+
+        public Article getArticle() { return article; }
+        public String getLabel() { return label; }
+        public Double getScore() { return score; }
+        public boolean isDegraded() { return degraded; }
+    }
+
+    // model_version stamp; a degraded result must not look like a current full parse to the stale re-scorer
+    private String modelVersion(boolean degraded) {
+        String signature = sentimentService.getPipelineSignature();
+        return degraded ? signature + BUDGET_FALLBACK_SUFFIX : signature;
+    }
+
+    // copy a sentiment row onto the article's denormalized columns; no-op (no UPDATE, no event) when already in step
+    private void applyLatest(Article article, Sentiment latest) {
+        String label = SentimentAnalysisQueue.normalizeLabel(latest.getLabel());
+        OffsetDateTime at = latest.getCreatedAt();
+        boolean sameAt = article.getSentimentAnalyzedAt() != null && at != null && article.getSentimentAnalyzedAt().isEqual(at);
+        if (Objects.equals(article.getSentimentLabel(), label)
+                && Objects.equals(article.getSentimentScore(), latest.getScore()) && sameAt) {
+            return;
+        }
+        article.setSentimentLabel(label);
+        article.setSentimentScore(latest.getScore());
+        article.setSentimentAnalyzedAt(at);
+        eventPublisher.publishEvent(new LatestSentimentChanged(article.getId(), label, latest.getScore(), at));
+    }
+
+    /**
+     * An article's latest sentiment changed. Published inside the writing transaction; listeners that mirror
+     * the article (RecentArticlesFeed) use @TransactionalEventListener so they only see committed changes.
+     */
+    public static class LatestSentimentChanged {
+        private final UUID articleId;
+        private final String label;
+        private final Double score;
+        private final OffsetDateTime analyzedAt;
+
+        public LatestSentimentChanged(UUID articleId, String label, Double score, OffsetDateTime analyzedAt) {
+            this.articleId = articleId;
+            this.label = label;
+            this.score = score;
+            this.analyzedAt = analyzedAt;
+        }
+
+        public UUID getArticleId() { return articleId; }
+        public String getLabel() { return label; }
+        public Double getScore() { return score; }
+        public OffsetDateTime getAnalyzedAt() { return analyzedAt; }
+    }
+
+    private static boolean sameResult(Sentiment existing, String label, double score, String modelVersion, String inputHash) {
+        return Objects.equals(existing.getLabel(), label)
+                && existing.getScore() != null
+                && Math.abs(existing.getScore() - score) < SCORE_EPSILON
+                && Objects.equals(existing.getModelVersion(), modelVersion)
+                && Objects.equals(existing.getInputHash(), inputHash);
+    }
+}
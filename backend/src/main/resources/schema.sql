@@ -0,0 +1,21 @@
+-- Runs after Hibernate's ddl-auto=update on every startup (spring.sql.init.mode=always,
+-- spring.jpa.defer-datasource-initialization=true), so every statement must be idempotent.
+-- Holds DDL that JPA annotations cannot express (sort direction, NULLS LAST, partial/expression indexes) and
+-- drops of indexes that ddl-auto=update leaves behind.
+
+-- Newest-first feed: GET /api/articles/recent/{count} and the default GET /api/articles keyset order
+CREATE INDEX IF NOT EXISTS idx_articles_fetched_at_id ON articles (fetched_at DESC NULLS LAST, id DESC);
+
+-- GET /api/articles?sort=published
+CREATE INDEX IF NOT EXISTS idx_articles_published_at_id ON articles (published_at DESC NULLS LAST, id DESC);
+
+-- Filtered feeds (sentiment=Positive etc.) on the denormalized latest label, in feed order
+CREATE INDEX IF NOT EXISTS idx_articles_sentiment_label_fetched
+    ON articles (sentiment_label, fetched_at DESC NULLS LAST, id DESC);
+
+-- Change feed: GET /api/articles/changes keysets over (updated_at, id) and (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_articles_updated_at_id ON articles (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_sentiments_created_at_id ON sentiments (created_at, id);
+
+-- Superseded by idx_sentiments_article_created_stamps (Sentiment), which leads with the same columns
+DROP INDEX IF EXISTS idx_sentiments_article_created;
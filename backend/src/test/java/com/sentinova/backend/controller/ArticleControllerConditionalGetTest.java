@@ -0,0 +1,136 @@
+package com.sentinova.backend.controller;
+
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.ArticleChangeFeed;
+import com.sentinova.backend.service.ArticleFeedService;
+import com.sentinova.backend.service.FeedResponseCache;
+import com.sentinova.backend.service.FeedVersion;
+import com.sentinova.backend.service.RecentArticlesFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs on ArticleController: a current If-None-Match answers 304 before the feed, the response cache
+ * or the DB is consulted; ETag is the only validator.
+ */
+@WebMvcTest(ArticleController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(FeedVersion.class)
+class ArticleControllerConditionalGetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private FeedVersion feedVersion;
+
+    @MockitoBean
+    private ArticleRepository articleRepository;
+
+    @MockitoBean
+    private ArticleFeedService articleFeedService;
+
+    @MockitoBean
+    private RecentArticlesFeed recentFeed;
+
+    @MockitoBean
+    private FeedResponseCache responseCache;
+
+    @MockitoBean
+    private ArticleChangeFeed changeFeed;
+
+    @Test
+    void recentAnswers304FromTheGzipVariantTagWithoutBuildingTheResponse() throws Exception {
+        when(responseCache.isEnabled()).thenReturn(true);
+
+        mvc.perform(get("/api/articles/recent/20")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .header(HttpHeaders.IF_NONE_MATCH, feedVersion.etag("gz")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, feedVersion.etag("gz")));
+
+        verify(responseCache, never()).get(anyString(), any(), anyBoolean());
+        verifyNoInteractions(recentFeed, articleRepository);
+    }
+
+    @Test
+    void plainTagDoesNotValidateTheGzipVariant() throws Exception {
+        when(responseCache.isEnabled()).thenReturn(true);
+        FeedResponseCache.Entry entry = mock(FeedResponseCache.Entry.class);
+        when(entry.getGzip()).thenReturn("gzipped".getBytes(StandardCharsets.UTF_8));
+        when(responseCache.get(anyString(), any(), eq(true))).thenReturn(entry);
+
+        mvc.perform(get("/api/articles/recent/20")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, feedVersion.etag()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, feedVersion.etag("gz")))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void recentWithoutTheResponseCacheAnswers304BeforeTheHotFeed() throws Exception {
+        mvc.perform(get("/api/articles/recent/20").header(HttpHeaders.IF_NONE_MATCH, feedVersion.etag()))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(recentFeed, articleRepository);
+    }
+
+    @Test
+    void staleTagGetsTheFeedWithTheCurrentTag() throws Exception {
+        String stale = feedVersion.etag();
+        feedVersion.bump();
+        when(recentFeed.recent(anyInt(), any())).thenReturn(List.of());
+
+        mvc.perform(get("/api/articles/recent/20").header(HttpHeaders.IF_NONE_MATCH, stale))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, feedVersion.etag()));
+    }
+
+    @Test
+    void ifModifiedSinceAloneNeverAnswers304() throws Exception {
+        when(recentFeed.recent(anyInt(), any())).thenReturn(List.of());
+
+        mvc.perform(get("/api/articles/recent/20")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 60_000))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void listingAnswers304BeforeTheFeedQuery() throws Exception {
+        mvc.perform(get("/api/articles").param("sentiment", "Positive")
+                        .header(HttpHeaders.IF_NONE_MATCH, feedVersion.etag()))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(articleFeedService);
+    }
+
+    @Test
+    void articleWithSentimentsAnswers304WithoutLoadingTheArticle() throws Exception {
+        mvc.perform(get("/api/articles/{id}/with-sentiments", UUID.randomUUID())
+                        .header(HttpHeaders.IF_NONE_MATCH, feedVersion.etag()))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(articleRepository);
+    }
+}
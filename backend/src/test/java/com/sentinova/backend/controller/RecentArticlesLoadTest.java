@@ -0,0 +1,84 @@
+package com.sentinova.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for GET /api/articles/recent/{count} against a running backend: requests/second and latency
+ * percentiles under concurrent clients. Start the app once with articles.hot-feed.enabled=true and once with
+ * false, and run this against each:
+ *   -Dbenchmark=true [-Dbenchmark.base-url=http://localhost:8080] [-Dbenchmark.clients=32]
+ *   [-Dbenchmark.seconds=20] [-Dbenchmark.path=/api/articles/recent/20?sentiment=Positive]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RecentArticlesLoadTest {
+
+    @Test
+    void recentArticlesThroughputAndLatency() throws Exception {
+        String baseUrl = System.getProperty("benchmark.base-url", "http://localhost:8080");
+        String path = System.getProperty("benchmark.path", "/api/articles/recent/20");
+        int clients = Integer.getInteger("benchmark.clients", 32);
+        long seconds = Long.getLong("benchmark.seconds", 20L);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+
+        // warm-up (JIT, connection pool, hot feed load)
+        for (int i = 0; i < 200; i++) http.send(request, HttpResponse.BodyHandlers.discarding());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            futures.add(pool.submit(() -> {
+                long[] latencies = new long[1 << 16];
+                int n = 0;
+                int errors = 0;
+                while (System.nanoTime() < deadline) {
+                    long t0 = System.nanoTime();
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    long took = System.nanoTime() - t0;
+                    if (response.statusCode() != 200) errors++;
+                    if (n == latencies.length) latencies = Arrays.copyOf(latencies, n * 2);
+                    latencies[n++] = took;
+                }
+                long[] out = Arrays.copyOf(latencies, n + 1);
+                out[n] = errors;
+                return out;
+            }));
+        }
+
+        List<Long> all = new ArrayList<>();
+        long errors = 0;
+        for (Future<long[]> f : futures) {
+            long[] r = f.get();
+            for (int i = 0; i < r.length - 1; i++) all.add(r[i]);
+            errors += r[r.length - 1];
+        }
+        pool.shutdown();
+        all.sort(null);
+
+        System.out.printf("%s%s clients=%d: %.0f req/s, p50=%.2f ms, p99=%.2f ms, max=%.2f ms, errors=%d%n",
+                baseUrl, path, clients, all.size() / (double) seconds,
+                percentile(all, 0.50), percentile(all, 0.99), all.get(all.size() - 1) / 1e6, errors);
+        assertThat(errors).isZero();
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1)) / 1e6;
+    }
+}
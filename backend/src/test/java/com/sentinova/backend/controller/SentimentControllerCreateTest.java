@@ -0,0 +1,57 @@
+package com.sentinova.backend.controller;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.Sentiment;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.repository.SentimentRepository;
+import com.sentinova.backend.service.SentimentBatchService;
+import com.sentinova.backend.service.SentimentService;
+import com.sentinova.backend.service.SentimentWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SentimentControllerCreateTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final SentimentWriter sentimentWriter = mock(SentimentWriter.class);
+    private final SentimentController controller = new SentimentController(mock(SentimentRepository.class),
+            articleRepository, mock(SentimentService.class), mock(SentimentBatchService.class), sentimentWriter);
+
+    private final Article article = new Article(UUID.randomUUID(), "Headline", "https://news.test/1");
+
+    SentimentControllerCreateTest() {
+        when(articleRepository.findById(article.getId())).thenReturn(Optional.of(article));
+    }
+
+    @Test
+    void storesTheCanonicalLabelAsAManualRow() {
+        Sentiment row = new Sentiment();
+        when(sentimentWriter.recordManual(any(), anyString(), any())).thenReturn(new SentimentWriter.Recorded(row, true));
+
+        ResponseEntity<?> response = controller.create(article.getId(), "VERY POSITIVE", 0.9, null);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(201);
+        assertThat(response.getBody()).isSameAs(row);
+        verify(sentimentWriter).recordManual(article, "Positive", 0.9);
+        verify(sentimentWriter, never()).record(any(Article.class), anyString(), any());
+    }
+
+    @Test
+    void repeatingTheLatestSentimentAnswers200WithTheExistingRow() {
+        Sentiment existing = new Sentiment();
+        when(sentimentWriter.recordManual(any(), anyString(), any())).thenReturn(new SentimentWriter.Recorded(existing, false));
+
+        ResponseEntity<?> response = controller.create(article.getId(), "Negative", 0.2, null);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody()).isSameAs(existing);
+    }
+}
@@ -0,0 +1,161 @@
+package com.sentinova.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /api/articles/recent/{count}: old path (read every row, sort by fetchedAt in Java, take N) vs. the indexed
+ * ORDER BY ... LIMIT queries in ArticleRepository, at 10k, 100k and 1M articles.
+ *
+ * Needs a scratch Postgres (13+, for gen_random_uuid). Everything happens in a throwaway schema that is dropped
+ * afterwards. Run with
+ *   -Dbenchmark=true [-Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5433/sentinova]
+ *   [-Dbenchmark.jdbc.user=postgres] [-Dbenchmark.jdbc.password=...] [-Dbenchmark.rows=10000,100000,1000000]
+ *
+ * The old path is measured as a lower bound: it streams the rows and keeps only id + fetchedAt, where the
+ * controller used to hydrate full Article entities.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ArticleRecentQueryBenchmarkTest {
+
+    private static final String SCHEMA = "bench_recent";
+    private static final int COUNT = 20;
+    private static final int RUNS = 10;
+
+    @Test
+    void recentArticlesAtScale() throws Exception {
+        String url = System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5433/sentinova");
+        String user = System.getProperty("benchmark.jdbc.user", "postgres");
+        String password = System.getProperty("benchmark.jdbc.password", "");
+        int[] sizes = Arrays.stream(System.getProperty("benchmark.rows", "10000,100000,1000000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+        try (Connection c = DriverManager.getConnection(url, user, password)) {
+            try {
+                for (int rows : sizes) {
+                    populate(c, rows);
+                    report(c, rows);
+                }
+            } finally {
+                exec(c, "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    private static void report(Connection c, int rows) throws Exception {
+        List<UUID> javaSorted = oldPath(c);
+        List<UUID> indexed = query(c, ArticleRepository.RECENT_SQL, null);
+        assertThat(indexed).containsExactlyElementsOf(javaSorted);
+
+        double oldMs = median(() -> oldPath(c));
+        double newMs = median(() -> query(c, ArticleRepository.RECENT_SQL, null));
+        double filteredMs = median(() -> query(c, ArticleRepository.RECENT_BY_LATEST_LABEL_SQL, "Positive"));
+
+        System.out.printf("rows=%,d  findAll+sort=%.2f ms  ORDER BY/LIMIT=%.2f ms  +latest-sentiment filter=%.2f ms  (%.0fx)%n",
+                rows, oldMs, newMs, filteredMs, oldMs / newMs);
+    }
+
+    // previous controller behaviour: whole table, sort in Java (nulls last), take COUNT
+    private static List<UUID> oldPath(Connection c) throws Exception {
+        record Row(UUID id, OffsetDateTime fetchedAt) {}
+        List<Row> all = new ArrayList<>();
+        c.setAutoCommit(false); // lets the driver stream with a fetch size instead of buffering the whole result
+        try (Statement st = c.createStatement()) {
+            st.setFetchSize(10_000);
+            try (ResultSet rs = st.executeQuery("SELECT * FROM " + SCHEMA + ".articles")) {
+                while (rs.next()) {
+                    rs.getString("content");
+                    all.add(new Row(rs.getObject("id", UUID.class), rs.getObject("fetched_at", OffsetDateTime.class)));
+                }
+            }
+        } finally {
+            c.commit();
+            c.setAutoCommit(true);
+        }
+        return all.stream()
+                .sorted(Comparator.comparing(Row::fetchedAt, Comparator.nullsLast(Comparator.<OffsetDateTime>reverseOrder()))
+                        .thenComparing(Row::id, Comparator.comparing(UUID::toString).reversed()))
+                .limit(COUNT)
+                .map(Row::id)
+                .toList();
+    }
+
+    private static List<UUID> query(Connection c, String sql, String label) throws Exception {
+        String jdbcSql = sql.replace(":label", "?").replace(":limit", "?");
+        exec(c, "SET search_path TO " + SCHEMA);
+        try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+            int i = 1;
+            if (label != null) ps.setString(i++, label);
+            ps.setInt(i, COUNT);
+            List<UUID> ids = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getObject("id", UUID.class));
+            }
+            return ids;
+        } finally {
+            exec(c, "RESET search_path");
+        }
+    }
+
+    private static void populate(Connection c, int rows) throws Exception {
+        exec(c, "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        exec(c, "CREATE SCHEMA " + SCHEMA);
+        exec(c, "CREATE TABLE " + SCHEMA + ".articles (id uuid PRIMARY KEY, title text, url text, summary text, "
+                + "content text, source text, category text, published_at timestamptz, fetched_at timestamptz, "
+                + "sentiment_label varchar(16), sentiment_score double precision, sentiment_analyzed_at timestamptz)");
+        exec(c, "CREATE TABLE " + SCHEMA + ".sentiments (id uuid PRIMARY KEY, article_id uuid NOT NULL, "
+                + "label varchar(64) NOT NULL, score double precision NOT NULL, created_at timestamptz NOT NULL)");
+        // ~1% of articles have no fetched_at, like rows from before the column was populated
+        exec(c, "INSERT INTO " + SCHEMA + ".articles SELECT gen_random_uuid(), 'Headline ' || g, 'https://news.test/' || g, "
+                + "'Summary ' || g, repeat('Lorem ipsum dolor sit amet. ', 20), 'Source ' || (g % 40), 'general', "
+                + "now() - make_interval(secs => g), "
+                + "CASE WHEN g % 97 = 0 THEN NULL ELSE now() - make_interval(secs => g) END "
+                + "FROM generate_series(1, " + rows + ") g");
+        exec(c, "INSERT INTO " + SCHEMA + ".sentiments SELECT gen_random_uuid(), id, "
+                + "(ARRAY['Positive','Negative','Neutral'])[1 + abs(hashtext(id::text)) % 3], 0.5, now() FROM " + SCHEMA + ".articles");
+        exec(c, "UPDATE " + SCHEMA + ".articles a SET sentiment_label = s.label, sentiment_score = s.score, "
+                + "sentiment_analyzed_at = s.created_at FROM " + SCHEMA + ".sentiments s WHERE s.article_id = a.id");
+        // same indexes as production: schema.sql + Sentiment @Index
+        exec(c, "CREATE INDEX ON " + SCHEMA + ".articles (fetched_at DESC NULLS LAST, id DESC)");
+        exec(c, "CREATE INDEX ON " + SCHEMA + ".articles (sentiment_label, fetched_at DESC NULLS LAST, id DESC)");
+        exec(c, "CREATE INDEX ON " + SCHEMA + ".sentiments (article_id, created_at)");
+        exec(c, "ANALYZE " + SCHEMA + ".articles");
+        exec(c, "ANALYZE " + SCHEMA + ".sentiments");
+    }
+
+    private interface Run {
+        Object run() throws Exception;
+    }
+
+    private static double median(Run run) throws Exception {
+        for (int i = 0; i < 3; i++) run.run(); // warm-up (JIT, buffer cache)
+        double[] ms = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            run.run();
+            ms[i] = (System.nanoTime() - t0) / 1e6;
+        }
+        Arrays.sort(ms);
+        return ms[RUNS / 2];
+    }
+
+    private static void exec(Connection c, String sql) throws Exception {
+        try (Statement st = c.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
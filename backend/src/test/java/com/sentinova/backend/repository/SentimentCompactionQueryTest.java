@@ -0,0 +1,102 @@
+package com.sentinova.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SentimentRepository.DELETE_CONSECUTIVE_DUPLICATES_SQL against real Postgres (window functions, IS NOT DISTINCT FROM).
+ *
+ * Needs a scratch Postgres; everything happens in a throwaway schema that is dropped afterwards. Run with
+ *   -Dpostgres=true [-Dpostgres.jdbc.url=jdbc:postgresql://localhost:5433/sentinova]
+ *   [-Dpostgres.jdbc.user=postgres] [-Dpostgres.jdbc.password=...]
+ */
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+class SentimentCompactionQueryTest {
+
+    private static final String SCHEMA = "test_compaction";
+
+    @Test
+    void collapsesRunsKeepsDistinctResultsAndTheLatestRow() throws Exception {
+        String url = System.getProperty("postgres.jdbc.url", "jdbc:postgresql://localhost:5433/sentinova");
+        String user = System.getProperty("postgres.jdbc.user", "postgres");
+        String password = System.getProperty("postgres.jdbc.password", "");
+        UUID article = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        try (Connection c = DriverManager.getConnection(url, user, password)) {
+            try {
+                exec(c, "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+                exec(c, "CREATE SCHEMA " + SCHEMA);
+                exec(c, "SET search_path TO " + SCHEMA);
+                exec(c, "CREATE TABLE sentiments (id uuid PRIMARY KEY, article_id uuid NOT NULL, label text NOT NULL, "
+                        + "score double precision NOT NULL, created_at timestamptz NOT NULL, model_version text, input_hash text)");
+
+                insert(c, 1, article, "Positive", 0.8, "v1", "h1");
+                insert(c, 2, article, "Positive", 0.8, "v1", "h1"); // repeats 1: run of two, 2 survives
+                insert(c, 3, article, "Positive", 0.8, "v2", "h1"); // same result, newer model: not a duplicate of 2
+                insert(c, 4, article, "Positive", 0.8, "v2", "h1"); // repeats 3
+                insert(c, 5, article, "Negative", 0.3, "v2", "h1");
+                insert(c, 6, article, "Positive", 0.8, "v2", null); // latest, no input hash
+                insert(c, 7, other, "Neutral", 0.5, null, null);
+
+                int deleted;
+                try (PreparedStatement ps = c.prepareStatement(
+                        SentimentRepository.DELETE_CONSECUTIVE_DUPLICATES_SQL.replace("IN (:articleIds)", "= ANY (?)"))) {
+                    ps.setArray(1, c.createArrayOf("uuid", new Object[]{article, other}));
+                    deleted = ps.executeUpdate();
+                }
+
+                assertThat(deleted).isEqualTo(2);
+                assertThat(remaining(c, article)).containsExactly(2, 4, 5, 6);
+                assertThat(remaining(c, other)).containsExactly(7);
+            } finally {
+                exec(c, "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    // row n: id and created_at derived from n, so insertion order is history order
+    private static void insert(Connection c, int n, UUID articleId, String label, double score,
+                               String modelVersion, String inputHash) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement("INSERT INTO sentiments VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            ps.setObject(1, new UUID(0L, n));
+            ps.setObject(2, articleId);
+            ps.setString(3, label);
+            ps.setDouble(4, score);
+            ps.setTimestamp(5, Timestamp.from(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(n)));
+            ps.setString(6, modelVersion);
+            ps.setString(7, inputHash);
+            ps.executeUpdate();
+        }
+    }
+
+    private static List<Integer> remaining(Connection c, UUID articleId) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement("SELECT id FROM sentiments WHERE article_id = ? ORDER BY created_at")) {
+            ps.setObject(1, articleId);
+            List<Integer> rows = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows.add((int) rs.getObject(1, UUID.class).getLeastSignificantBits());
+            }
+            return rows;
+        }
+    }
+
+    private static void exec(Connection c, String sql) throws Exception {
+        try (Statement st = c.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
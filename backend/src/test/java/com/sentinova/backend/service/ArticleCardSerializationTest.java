@@ -0,0 +1,95 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleCard;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Feed payload size and serialization time: full Article JSON vs. ArticleCard (fields=card), 200-article page.
+ */
+class ArticleCardSerializationTest {
+
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void cardPayloadIsSeveralTimesSmaller() throws Exception {
+        List<Article> articles = page(200);
+        List<ArticleCard> cards = articles.stream().map(ArticleCard::of).toList();
+
+        byte[] full = mapper.writeValueAsBytes(articles);
+        byte[] card = mapper.writeValueAsBytes(cards);
+
+        for (int i = 0; i < 200; i++) { // warm-up
+            mapper.writeValueAsBytes(articles);
+            mapper.writeValueAsBytes(cards);
+        }
+        double fullMicros = time(() -> mapper.writeValueAsBytes(articles));
+        double cardMicros = time(() -> mapper.writeValueAsBytes(cards));
+
+        System.out.printf("200 articles: full=%d bytes in %.0f us, card=%d bytes in %.0f us (%.1fx smaller, %.1fx faster)%n",
+                full.length, fullMicros, card.length, cardMicros,
+                full.length / (double) card.length, fullMicros / cardMicros);
+
+        assertThat(mapper.readTree(card).get(0).has("content")).isFalse();
+        assertThat(mapper.readTree(card).get(0).get("sentimentLabel").asText()).isEqualTo("Positive");
+        assertThat(card.length * 3L).isLessThan(full.length);
+    }
+
+    @Test
+    void changeCursorColumnIsNotPartOfTheArticleJson() throws Exception {
+        Article a = page(1).get(0);
+        a.setUpdatedAt(OffsetDateTime.now());
+
+        // same shape as the hot feed's FeedArticle, which has no updatedAt
+        assertThat(mapper.readTree(mapper.writeValueAsBytes(a)).has("updatedAt")).isFalse();
+        assertThat(mapper.readTree(mapper.writeValueAsBytes(RecentArticlesFeed.FeedArticle.of(a))).has("updatedAt")).isFalse();
+    }
+
+    private interface Work {
+        Object run() throws Exception;
+    }
+
+    private static double time(Work work) throws Exception {
+        int runs = 500;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < runs; i++) work.run();
+        return (System.nanoTime() - t0) / 1e3 / runs;
+    }
+
+    // shaped like polled articles: a short summary and a few KB of body text
+    private static List<Article> page(int n) {
+        String body = "Markets moved sharply on Tuesday as investors weighed new figures on inflation and growth. ".repeat(30);
+        OffsetDateTime t = OffsetDateTime.of(2025, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+        List<Article> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Article a = new Article(UUID.randomUUID(), "Headline number " + i, "https://news.test/articles/" + i);
+            a.setSummary("Short summary for article " + i + ", one or two sentences long.");
+            a.setContent(body);
+            a.setSource("Source " + (i % 40));
+            a.setCategory("General");
+            a.setImageUrl("https://img.test/" + i + ".jpg");
+            a.setPublishedAt(t.minusMinutes(i));
+            a.setFetchedAt(t);
+            a.setLastSeenAt(t);
+            a.setSentimentLabel("Positive");
+            a.setSentimentScore(0.75);
+            a.setSentimentAnalyzedAt(t);
+            out.add(a);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,109 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ChangedArticleCard;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.repository.SentimentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ArticleChangeFeedTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final SentimentRepository sentimentRepository = mock(SentimentRepository.class);
+    private final FeedVersion feedVersion = new FeedVersion();
+    private final ArticleChangeFeed changeFeed = new ArticleChangeFeed(articleRepository, sentimentRepository, feedVersion,
+            100, 500, 0, 30_000);
+
+    @Test
+    void cursorRoundTripsBothPositions() {
+        OffsetDateTime a = OffsetDateTime.of(2025, 3, 4, 5, 6, 7, 123_456_000, ZoneOffset.UTC);
+        OffsetDateTime s = a.plusSeconds(1);
+        UUID articleId = UUID.randomUUID();
+        UUID sentimentId = UUID.randomUUID();
+
+        String token = new ArticleChangeFeed.ChangeCursor(a, articleId, s, sentimentId).encode();
+        ArticleChangeFeed.ChangeCursor decoded = ArticleChangeFeed.ChangeCursor.decode(token);
+
+        assertThat(decoded.articleTs.toInstant()).isEqualTo(a.toInstant());
+        assertThat(decoded.articleId).isEqualTo(articleId);
+        assertThat(decoded.sentimentTs.toInstant()).isEqualTo(s.toInstant());
+        assertThat(decoded.sentimentId).isEqualTo(sentimentId);
+        assertThatThrownBy(() -> changeFeed.since("not a cursor!", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void firstCallStartsFromNowWithoutQuerying() {
+        ArticleChangeFeed.Changes changes = changeFeed.since(null, null);
+
+        assertThat(changes.hasChanges()).isFalse();
+        assertThat(changes.getCursor()).isNotBlank();
+        verifyNoInteractions(articleRepository, sentimentRepository);
+    }
+
+    @Test
+    void cursorAdvancesPastTheLastChangedArticle() {
+        Article changed = article();
+        when(articleRepository.findChangedAfter(any(), any(), any(), any())).thenReturn(List.of(ChangedArticleCard.of(changed)));
+        when(sentimentRepository.findWrittenAfter(any(), any(), any(), any())).thenReturn(List.of());
+        String start = changeFeed.since(null, null).getCursor();
+
+        ArticleChangeFeed.Changes changes = changeFeed.since(start, 10);
+
+        assertThat(changes.getArticles()).extracting(c -> c.id()).containsExactly(changed.getId());
+        ArticleChangeFeed.ChangeCursor next = ArticleChangeFeed.ChangeCursor.decode(changes.getCursor());
+        assertThat(next.articleId).isEqualTo(changed.getId());
+        assertThat(next.articleTs.toInstant()).isEqualTo(changed.getUpdatedAt().toInstant());
+        assertThat(changes.isHasMore()).isFalse();
+    }
+
+    @Test
+    void longPollIsWokenByTheNextFeedChange() throws Exception {
+        when(articleRepository.findChangedAfter(any(), any(), any(), any())).thenReturn(List.of());
+        when(sentimentRepository.findWrittenAfter(any(), any(), any(), any())).thenReturn(List.of());
+        String start = changeFeed.since(null, null).getCursor();
+
+        CompletableFuture<ArticleChangeFeed.Changes> parked = changeFeed.await(start, null, 10_000);
+        changeFeed.wakeWaiters(); // nothing changed yet: not even re-queried
+        assertThat(parked).isNotDone();
+        verify(articleRepository, times(1)).findChangedAfter(any(), any(), any(), any());
+
+        Article changed = article();
+        when(articleRepository.findChangedAfter(any(), any(), any(), any())).thenReturn(List.of(ChangedArticleCard.of(changed)));
+        feedVersion.bump();
+        changeFeed.wakeWaiters();
+
+        assertThat(parked.get(1, TimeUnit.SECONDS).getArticles()).extracting(c -> c.id()).containsExactly(changed.getId());
+        assertThat(changeFeed.getWaitingCount()).isZero();
+    }
+
+    @Test
+    void longPollAnswersEmptyWhenTheWaitRunsOut() throws Exception {
+        when(articleRepository.findChangedAfter(any(), any(), any(), any())).thenReturn(List.of());
+        when(sentimentRepository.findWrittenAfter(any(), any(), any(), any())).thenReturn(List.of());
+        String start = changeFeed.since(null, null).getCursor();
+
+        ArticleChangeFeed.Changes changes = changeFeed.await(start, null, 50).get(2, TimeUnit.SECONDS);
+
+        assertThat(changes.hasChanges()).isFalse();
+        assertThat(changes.getCursor()).isEqualTo(start);
+        assertThat(changeFeed.getWaitingCount()).isZero();
+    }
+
+    private static Article article() {
+        Article a = new Article(UUID.randomUUID(), "Rates unchanged", "https://example.com/" + UUID.randomUUID());
+        a.setUpdatedAt(OffsetDateTime.now().minusSeconds(5));
+        return a;
+    }
+}
@@ -0,0 +1,41 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleKeys;
+import com.sentinova.backend.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ArticleDedupKeyBackfillTest {
+
+    @Test
+    void writesOnlyTheDedupKeyAndLeavesTheChangeCursorAlone() {
+        ArticleRepository repo = mock(ArticleRepository.class);
+        Article legacy = new Article(UUID.randomUUID(), "Markets Rally", "https://news.test/markets");
+        legacy.setSource("Wire");
+        OffsetDateTime updatedAt = OffsetDateTime.now().minusDays(30);
+        legacy.setUpdatedAt(updatedAt);
+        when(repo.findByDedupKeyIsNull(any())).thenReturn(
+                new SliceImpl<>(List.of(legacy), PageRequest.of(0, 500), false), new SliceImpl<>(List.of()));
+
+        ArticleDedupKeyBackfill backfill = new ArticleDedupKeyBackfill(repo, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(backfill, "chunkSize", 500);
+        backfill.backfill();
+
+        verify(repo).setDedupKey(legacy.getId(), ArticleKeys.dedupKey("Markets Rally", "Wire"));
+        assertThat(legacy.getUpdatedAt()).isEqualTo(updatedAt); // entity never dirtied, so @PreUpdate cannot run
+        assertThat(legacy.getContentHash()).isNull();
+        verify(repo, never()).save(any(Article.class));
+    }
+}
@@ -0,0 +1,87 @@
+package com.sentinova.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArticleFeedServiceTest {
+
+    private static final UUID ID = UUID.fromString("5f0c6f2e-8d7a-4c1b-9e3f-0a1b2c3d4e5f");
+
+    @Test
+    void cursorRoundTripsTimestampToTheNanosecond() {
+        OffsetDateTime ts = OffsetDateTime.of(2025, 3, 4, 5, 6, 7, 123_456_000, ZoneOffset.ofHours(2));
+
+        String token = new ArticleFeedService.Cursor(ts, ID).encode(ArticleFeedService.SortKey.FETCHED);
+        ArticleFeedService.Cursor decoded = ArticleFeedService.Cursor.decode(token, ArticleFeedService.SortKey.FETCHED);
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(decoded.timestamp.toInstant()).isEqualTo(ts.toInstant());
+        assertThat(decoded.id).isEqualTo(ID);
+    }
+
+    @Test
+    void cursorInsideNullTimestampRowsKeepsNull() {
+        String token = new ArticleFeedService.Cursor(null, ID).encode(ArticleFeedService.SortKey.PUBLISHED);
+
+        ArticleFeedService.Cursor decoded = ArticleFeedService.Cursor.decode(token, ArticleFeedService.SortKey.PUBLISHED);
+
+        assertThat(decoded.timestamp).isNull();
+        assertThat(decoded.id).isEqualTo(ID);
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSortOrGarbage() {
+        String published = new ArticleFeedService.Cursor(OffsetDateTime.now(), ID).encode(ArticleFeedService.SortKey.PUBLISHED);
+
+        assertThatThrownBy(() -> ArticleFeedService.Cursor.decode(published, ArticleFeedService.SortKey.FETCHED))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ArticleFeedService.Cursor.decode("not a cursor!", ArticleFeedService.SortKey.FETCHED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shuffleKeyIsPostgresMd5OfIdAndSeed() {
+        // SELECT md5('5f0c6f2e-8d7a-4c1b-9e3f-0a1b2c3d4e5f'::uuid::text || 'k3x9')
+        assertThat(ArticleFeedService.shuffleKey(ID, "k3x9")).isEqualTo("e787f8d10fe2ab56faf8a9e74b5c3c23");
+    }
+
+    @Test
+    void sameSeedSameOrderOtherSeedOtherOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) ids.add(UUID.randomUUID());
+
+        List<UUID> first = ArticleFeedService.shuffled(ids, id -> id, "alpha");
+        List<UUID> again = ArticleFeedService.shuffled(new ArrayList<>(ids.reversed()), id -> id, "alpha");
+        List<UUID> other = ArticleFeedService.shuffled(ids, id -> id, "beta");
+
+        assertThat(first).containsExactlyInAnyOrderElementsOf(ids).isEqualTo(again);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    void shuffleCursorOnlyResumesItsOwnSeed() {
+        String token = ArticleFeedService.ShuffleCursor.encode("alpha", ID);
+
+        assertThat(ArticleFeedService.ShuffleCursor.decode(token, "alpha")).isEqualTo(ID);
+        assertThatThrownBy(() -> ArticleFeedService.ShuffleCursor.decode(token, "beta"))
+                .isInstanceOf(IllegalArgumentException.class);
+        String sorted = new ArticleFeedService.Cursor(OffsetDateTime.now(), ID).encode(ArticleFeedService.SortKey.FETCHED);
+        assertThatThrownBy(() -> ArticleFeedService.ShuffleCursor.decode(sorted, "alpha"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsSeedsThatCannotBeEmbedded() {
+        assertThat(ArticleFeedService.checkSeed(" k3x9 ")).isEqualTo("k3x9");
+        assertThatThrownBy(() -> ArticleFeedService.checkSeed("a|b")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ArticleFeedService.checkSeed("")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.sentinova.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC statements sent by the per-article upsert path vs the batch path, counted by Hibernate
+ * (Statistics.getPrepareStatementCount(); a JDBC batch is one prepared statement however many rows it carries).
+ *
+ * Needs a scratch Postgres; tables are created in a throwaway schema that is dropped afterwards. Run with
+ *   -Dpostgres=true [-Dpostgres.jdbc.url=jdbc:postgresql://localhost:5433/sentinova]
+ *   [-Dpostgres.jdbc.user=postgres] [-Dpostgres.jdbc.password=...]
+ */
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${postgres.jdbc.url:jdbc:postgresql://localhost:5433/sentinova}",
+        "spring.datasource.username=${postgres.jdbc.user:postgres}",
+        "spring.datasource.password=${postgres.jdbc.password:}",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.default_schema=" + ArticleServiceStatementCountTest.SCHEMA,
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ArticleService.class)
+class ArticleServiceStatementCountTest {
+
+    static final String SCHEMA = "test_batch_upsert";
+
+    // spring.jpa.properties.hibernate.jdbc.batch_size in application.properties
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterAll
+    static void dropSchema() throws Exception {
+        String url = System.getProperty("postgres.jdbc.url", "jdbc:postgresql://localhost:5433/sentinova");
+        String user = System.getProperty("postgres.jdbc.user", "postgres");
+        String password = System.getProperty("postgres.jdbc.password", "");
+        try (Connection c = DriverManager.getConnection(url, user, password); Statement st = c.createStatement()) {
+            st.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 500})
+    void batchUpsertSendsNewArticlesAsJdbcBatches(int size) {
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        OffsetDateTime fetchedAt = OffsetDateTime.now();
+
+        stats.clear();
+        for (RemoteArticleDto r : remoteArticles("single-" + size, size)) {
+            articleService.upsertFromRemote(null, r.getTitle(), r.getUrl(), r.getSource(), r.getCategory(),
+                    r.getSummary(), r.getContent(), r.getPublishedAt(), fetchedAt, r.getImageUrl());
+        }
+        entityManager.flush();
+        long perArticle = stats.getPrepareStatementCount();
+
+        stats.clear();
+        ArticleService.BatchUpsertResult result =
+                articleService.upsertAllFromRemote(remoteArticles("batch-" + size, size), fetchedAt);
+        entityManager.flush();
+        long batched = stats.getPrepareStatementCount();
+
+        assertThat(result.getCreated()).hasSize(size);
+        assertThat(perArticle).isGreaterThanOrEqualTo(2L * size); // URL lookup + dedup-key lookup per article
+        // one URL lookup, one dedup-key lookup, then one INSERT per JDBC batch
+        assertThat(batched).isLessThanOrEqualTo(2 + (size + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE);
+    }
+
+    private static List<RemoteArticleDto> remoteArticles(String prefix, int size) {
+        List<RemoteArticleDto> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            RemoteArticleDto dto = new RemoteArticleDto();
+            dto.setTitle(prefix + " headline " + i);
+            dto.setUrl("https://news.test/" + prefix + "/" + i);
+            dto.setSource("Wire");
+            dto.setCategory("General");
+            dto.setSummary("Summary " + i);
+            dto.setContent("Content " + i);
+            dto.setPublishedAt(OffsetDateTime.now());
+            list.add(dto);
+        }
+        return list;
+    }
+}
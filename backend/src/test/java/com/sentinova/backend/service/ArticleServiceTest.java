@@ -0,0 +1,208 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.ArticleKeys;
+import com.sentinova.backend.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Repository calls made by the upsert paths (mocked repository). Actual JDBC statement counts, including
+ * batching, are measured against Postgres in ArticleServiceStatementCountTest.
+ */
+class ArticleServiceTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 500})
+    void batchUpsertUsesBulkLookupsAndOneSaveAll(int size) {
+        List<RemoteArticleDto> batch = remoteArticles(size);
+        OffsetDateTime fetchedAt = OffsetDateTime.now();
+
+        ArticleRepository perArticleRepo = stubbedRepository();
+        ArticleService perArticle = new ArticleService(perArticleRepo);
+        for (RemoteArticleDto r : batch) {
+            perArticle.upsertFromRemote(null, r.getTitle(), r.getUrl(), r.getSource(), r.getCategory(),
+                    r.getSummary(), r.getContent(), r.getPublishedAt(), fetchedAt, r.getImageUrl());
+        }
+
+        ArticleRepository batchRepo = stubbedRepository();
+        ArticleService.BatchUpsertResult result = new ArticleService(batchRepo).upsertAllFromRemote(batch, fetchedAt);
+
+        assertThat(result.getCreated()).hasSize(size);
+        assertThat(mockingDetails(perArticleRepo).getInvocations()).hasSizeGreaterThanOrEqualTo(2 * size);
+        // independent of the batch size: URL lookup, dedup-key lookup, saveAll
+        assertThat(mockingDetails(batchRepo).getInvocations()).hasSize(3);
+
+        verify(batchRepo, times(1)).findByUrlIn(anyCollection());
+        verify(batchRepo, times(1)).findByDedupKeyIn(anyCollection());
+        verify(batchRepo, times(1)).saveAll(anyIterable());
+        verify(batchRepo, never()).findByUrl(anyString());
+        verify(batchRepo, never()).save(any(Article.class));
+    }
+
+    @Test
+    void dedupKeyIgnoresCaseAndSurroundingWhitespaceButNotTheSource() {
+        String key = ArticleKeys.dedupKey("Markets Rally", "Wire");
+
+        assertThat(ArticleKeys.dedupKey("  markets rally ", "WIRE")).isEqualTo(key);
+        assertThat(ArticleKeys.dedupKey("Markets Rally", "Other Wire")).isNotEqualTo(key);
+        assertThat(key).hasSize(64); // fits the dedup_key column
+    }
+
+    @Test
+    void articleWithoutUsableUrlIsMatchedByTheIndexedDedupKey() {
+        ArticleRepository repo = stubbedRepository();
+        Article existing = new Article(UUID.randomUUID(), "Markets Rally", "https://news.test/markets");
+        existing.setSource("Wire");
+        when(repo.findFirstByDedupKey(ArticleKeys.dedupKey("Markets Rally", "Wire"))).thenReturn(Optional.of(existing));
+
+        Article saved = new ArticleService(repo).upsertFromRemote(null, " markets rally", null, "WIRE ", "General",
+                "Summary", "Content", null, OffsetDateTime.now(), null);
+
+        assertThat(saved).isSameAs(existing);
+        verify(repo, never()).findAll();
+        verify(repo, never()).findByUrl(anyString());
+    }
+
+    @Test
+    void batchFallsBackToOneDedupKeyLookupForItemsWithoutUrls() {
+        ArticleRepository repo = stubbedRepository();
+        List<RemoteArticleDto> batch = remoteArticles(3);
+        batch.forEach(r -> r.setUrl(null));
+        Article existing = new Article(UUID.randomUUID(), "Headline 1", null);
+        existing.setSource("Wire");
+        existing.refreshDerivedKeys();
+        when(repo.findByDedupKeyIn(anyCollection())).thenReturn(List.of(existing));
+
+        ArticleService.BatchUpsertResult result = new ArticleService(repo).upsertAllFromRemote(batch, OffsetDateTime.now());
+
+        assertThat(result.getCreated()).hasSize(2);
+        assertThat(result.getCreated()).doesNotContain(existing);
+        verify(repo, times(1)).findByDedupKeyIn(Set.of(
+                ArticleKeys.dedupKey("Headline 0", "Wire"), ArticleKeys.dedupKey("Headline 1", "Wire"),
+                ArticleKeys.dedupKey("Headline 2", "Wire")));
+        verify(repo, never()).findAll();
+    }
+
+    @Test
+    void unchangedRepollOnlyTouchesLastSeenWhileRealEditsAreRewritten() {
+        ArticleRepository repo = stubbedRepository();
+        List<RemoteArticleDto> batch = remoteArticles(2);
+        OffsetDateTime firstFetch = OffsetDateTime.now().minusHours(1);
+        Article same = stored(batch.get(0), firstFetch);
+        Article edited = stored(batch.get(1), firstFetch);
+        batch.get(1).setContent("Corrected content 1");
+        when(repo.findByUrlIn(anyCollection())).thenReturn(List.of(same, edited));
+        OffsetDateTime now = OffsetDateTime.now();
+
+        ArticleService.BatchUpsertResult result = new ArticleService(repo).upsertAllFromRemote(batch, now);
+
+        assertThat(result.getUnchanged()).containsExactly(same);
+        assertThat(result.getUpdated()).containsExactly(edited);
+        assertThat(result.getCreated()).isEmpty();
+        assertThat(same.getFetchedAt()).isEqualTo(firstFetch); // fetchedAt only moves on real changes
+        assertThat(edited.getFetchedAt()).isEqualTo(now);
+        verify(repo).touchLastSeen(List.of(same.getId()), now);
+        verify(repo).saveAll(List.of(edited));
+    }
+
+    @Test
+    void unchangedRepollLeavesTheManagedEntityUntouched() {
+        ArticleRepository repo = stubbedRepository();
+        RemoteArticleDto r = remoteArticles(1).get(0);
+        OffsetDateTime firstFetch = OffsetDateTime.now().minusHours(1);
+        r.setPublishedAt(firstFetch.minusHours(2));
+        Article same = stored(r, firstFetch);
+        OffsetDateTime updatedAt = same.getUpdatedAt();
+        // the feed sent publishedAt = null this time, which the poller defaults to now(); the category moved too
+        r.setPublishedAt(OffsetDateTime.now());
+        r.setCategory("Business");
+        when(repo.findByUrlIn(anyCollection())).thenReturn(List.of(same));
+        OffsetDateTime now = OffsetDateTime.now();
+
+        ArticleService.BatchUpsertResult result = new ArticleService(repo).upsertAllFromRemote(List.of(r), now);
+
+        assertThat(result.getUnchanged()).containsExactly(same);
+        // no field outside the hash moved, so Hibernate has nothing to flush and @PreUpdate never runs
+        assertThat(same.getPublishedAt()).isEqualTo(firstFetch.minusHours(2));
+        assertThat(same.getCategory()).isEqualTo("General");
+        assertThat(same.getUpdatedAt()).isEqualTo(updatedAt);
+        verify(repo).touchLastSeen(List.of(same.getId()), now);
+        verify(repo, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    void contentHashCoversEveryVisibleField() {
+        String base = ArticleKeys.contentHash("T", "S", "C", "https://img.test/1.jpg");
+
+        assertThat(ArticleKeys.contentHash("T", "S", "C", "https://img.test/1.jpg")).isEqualTo(base);
+        assertThat(ArticleKeys.contentHash("T2", "S", "C", "https://img.test/1.jpg")).isNotEqualTo(base);
+        assertThat(ArticleKeys.contentHash("T", "S2", "C", "https://img.test/1.jpg")).isNotEqualTo(base);
+        assertThat(ArticleKeys.contentHash("T", "S", "C2", "https://img.test/1.jpg")).isNotEqualTo(base);
+        assertThat(ArticleKeys.contentHash("T", "S", "C", "https://img.test/2.jpg")).isNotEqualTo(base);
+        assertThat(ArticleKeys.contentHash("TS", "", "C", null)).isNotEqualTo(ArticleKeys.contentHash("T", "S", "C", null));
+    }
+
+    // an article as the DB holds it after an earlier poll of r (derived keys filled like the lifecycle hook does)
+    private static Article stored(RemoteArticleDto r, OffsetDateTime fetchedAt) {
+        Article a = new Article(UUID.randomUUID(), r.getTitle(), r.getUrl());
+        a.setSource(r.getSource());
+        a.setCategory(r.getCategory());
+        a.setSummary(r.getSummary());
+        a.setContent(r.getContent());
+        a.setPublishedAt(r.getPublishedAt());
+        a.setFetchedAt(fetchedAt);
+        a.refreshDerivedKeys();
+        return a;
+    }
+
+    private static ArticleRepository stubbedRepository() {
+        ArticleRepository repo = mock(ArticleRepository.class);
+        when(repo.save(any(Article.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(repo.saveAll(anyIterable())).thenAnswer(inv -> {
+            List<Article> saved = new ArrayList<>();
+            Iterable<Article> input = inv.getArgument(0);
+            input.forEach(saved::add);
+            return saved;
+        });
+        clearInvocations(repo);
+        return repo;
+    }
+
+    private static List<RemoteArticleDto> remoteArticles(int size) {
+        List<RemoteArticleDto> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            RemoteArticleDto dto = new RemoteArticleDto();
+            dto.setTitle("Headline " + i);
+            dto.setUrl("https://news.test/articles/" + i);
+            dto.setSource("Wire");
+            dto.setCategory("General");
+            dto.setSummary("Summary " + i);
+            dto.setContent("Content " + i);
+            dto.setPublishedAt(OffsetDateTime.now());
+            list.add(dto);
+        }
+        return list;
+    }
+}
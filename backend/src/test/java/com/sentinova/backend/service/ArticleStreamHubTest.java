@@ -0,0 +1,189 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentinova.backend.model.Article;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Sinks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleStreamHubTest {
+
+    private static final long NO_HEARTBEAT = TimeUnit.HOURS.toMillis(1);
+
+    private final Sinks.Many<Article> polled = Sinks.many().multicast().onBackpressureBuffer();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ArticleStreamHub hub;
+
+    private ArticleStreamHub hub(int replaySize, int bufferSize, long heartbeatMs) {
+        NewsPollingService pollingService = mock(NewsPollingService.class);
+        when(pollingService.getFlux()).thenReturn(polled.asFlux());
+        hub = new ArticleStreamHub(pollingService, new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                replaySize, bufferSize, heartbeatMs, 100_000);
+        return hub;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (hub != null) hub.shutdown();
+    }
+
+    @Test
+    void everySubscriberGetsTheSameSerializedEvent() {
+        hub(16, 16, NO_HEARTBEAT);
+        Collector a = new Collector(Long.MAX_VALUE);
+        Collector b = new Collector(Long.MAX_VALUE);
+        hub.subscribe(null).subscribe(a);
+        hub.subscribe(null).subscribe(b);
+
+        polled.tryEmitNext(article("Markets rally"));
+
+        assertThat(a.events).hasSize(1);
+        assertThat(b.events.get(0)).isSameAs(a.events.get(0));
+        assertThat(a.events.get(0).event()).isEqualTo("article");
+        assertThat(a.events.get(0).data()).contains("\"title\":\"Markets rally\"");
+    }
+
+    @Test
+    void reconnectReplaysWhatWasMissedAndResetsWhenItCannot() {
+        hub(4, 16, NO_HEARTBEAT);
+        Collector first = new Collector(Long.MAX_VALUE);
+        hub.subscribe(null).subscribe(first);
+        for (int i = 0; i < 3; i++) polled.tryEmitNext(article("A" + i));
+        String afterFirst = first.events.get(0).id();
+
+        Collector resumed = new Collector(Long.MAX_VALUE);
+        hub.subscribe(afterFirst).subscribe(resumed);
+        assertThat(resumed.events).extracting(ServerSentEvent::id)
+                .containsExactly(first.events.get(1).id(), first.events.get(2).id());
+
+        for (int i = 0; i < 5; i++) polled.tryEmitNext(article("B" + i)); // pushes afterFirst out of the history
+        Collector tooOld = new Collector(Long.MAX_VALUE);
+        hub.subscribe(afterFirst).subscribe(tooOld);
+        Collector foreign = new Collector(Long.MAX_VALUE);
+        hub.subscribe("otherboot-7").subscribe(foreign);
+
+        assertThat(tooOld.events).extracting(ServerSentEvent::event).containsExactly("reset");
+        assertThat(foreign.events).extracting(ServerSentEvent::event).containsExactly("reset");
+        assertThat(tooOld.events.get(0).id()).isEqualTo(first.events.get(first.events.size() - 1).id());
+    }
+
+    @Test
+    void slowSubscriberIsEvictedWithoutHoldingBackTheOthers() {
+        hub(1024, 4, NO_HEARTBEAT);
+        Collector fast = new Collector(Long.MAX_VALUE);
+        Collector slow = new Collector(0);
+        hub.subscribe(null).subscribe(fast);
+        hub.subscribe(null).subscribe(slow);
+
+        for (int i = 0; i < 200; i++) polled.tryEmitNext(article("N" + i));
+
+        assertThat(fast.events).hasSize(200);
+        assertThat(hub.getSubscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("articles.stream.evictions").counter().count()).isEqualTo(1);
+
+        // the evicted client still drains what was buffered, then its stream ends (EventSource reconnects)
+        slow.request(Long.MAX_VALUE);
+        assertThat(slow.completed).isTrue();
+        assertThat(slow.events).isNotEmpty().hasSizeLessThan(200);
+    }
+
+    @Test
+    void heartbeatsFlowBetweenEvents() {
+        hub(16, 16, 20);
+        Collector c = new Collector(Long.MAX_VALUE);
+        hub.subscribe(null).subscribe(c);
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> c.comments.get() >= 2);
+        assertThat(c.events).isEmpty();
+    }
+
+    @Test
+    void thousandsOfSubscribersFitAFixedHeapBudget() {
+        int subscriberCount = 5_000;
+        int eventCount = 100;
+        long heapBudgetBytes = 64L * 1024 * 1024; // ~13 KB per subscriber, buffers included
+        hub(512, 64, NO_HEARTBEAT);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedHeapAfterGc(memory);
+        List<CountingSubscriber> clients = new ArrayList<>(subscriberCount);
+        for (int i = 0; i < subscriberCount; i++) {
+            CountingSubscriber client = new CountingSubscriber();
+            hub.subscribe(null).subscribe(client);
+            clients.add(client);
+        }
+        for (int i = 0; i < eventCount; i++) polled.tryEmitNext(article("Load " + i));
+        long held = usedHeapAfterGc(memory) - before;
+
+        assertThat(hub.getSubscriberCount()).isEqualTo(subscriberCount);
+        assertThat(clients).allSatisfy(client -> assertThat(client.received.get()).isEqualTo(eventCount));
+        assertThat(held).isLessThan(heapBudgetBytes);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Article article(String title) {
+        Article a = new Article();
+        a.setId(UUID.randomUUID());
+        a.setTitle(title);
+        a.setUrl("https://example.com/" + UUID.randomUUID());
+        return a;
+    }
+
+    private static final class Collector extends BaseSubscriber<ServerSentEvent<String>> {
+        final List<ServerSentEvent<String>> events = new CopyOnWriteArrayList<>();
+        final AtomicInteger comments = new AtomicInteger();
+        final long initialDemand;
+        volatile boolean completed;
+
+        Collector(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialDemand > 0) request(initialDemand);
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<String> event) {
+            if (event.comment() != null) comments.incrementAndGet();
+            else events.add(event);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completed = true;
+        }
+    }
+
+    private static final class CountingSubscriber extends BaseSubscriber<ServerSentEvent<String>> {
+        final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<String> event) {
+            if (event.comment() == null) received.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.sentinova.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of the shared-pipeline annotator pool at 1..N concurrent callers.
+ * Loads the real CoreNLP models (slow, memory hungry), so it only runs with -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CoreNlpSentimentEngineBenchmarkTest {
+
+    private static final String[] SENTENCES = {
+            "Markets rallied strongly after the central bank signalled further rate cuts.",
+            "The storm left thousands without power and destroyed several homes along the coast.",
+            "Officials said the new stadium will open next spring as planned.",
+            "Critics called the decision a disaster for local businesses and workers.",
+            "The team celebrated a remarkable comeback victory in front of a delighted home crowd."
+    };
+
+    @Test
+    void throughputScalesWithAnnotatorThreads() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        CoreNlpSentimentEngine engine = new CoreNlpSentimentEngine(new SimpleMeterRegistry(),
+                new LexiconSentimentEngine("classpath:sentiment/lexicon.tsv"), cores, 1000, 15, 12, 60, 0);
+        engine.warmUp();
+        int docsPerRun = 8 * cores;
+
+        run(engine, 1, Math.max(4, cores)); // warm-up (JIT, lazy model structures)
+
+        double baseline = 0;
+        for (int callers = 1; callers <= cores; callers *= 2) {
+            double docsPerSec = run(engine, callers, docsPerRun);
+            if (callers == 1) baseline = docsPerSec;
+            System.out.printf("callers=%d: %.1f docs/s (%.2fx)%n", callers, docsPerSec, docsPerSec / baseline);
+        }
+        engine.shutdown();
+        assertThat(baseline).isPositive();
+    }
+
+    private static double run(CoreNlpSentimentEngine engine, int callers, int docs) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        long start = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < callers; c++) {
+            futures.add(pool.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < docs) {
+                    engine.analyze(SENTENCES[i % SENTENCES.length] + " " + SENTENCES[(i + 1) % SENTENCES.length]);
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        return docs / seconds;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedResponseCacheTest {
+
+    private final FeedVersion feedVersion = new FeedVersion();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FeedResponseCache cache = new FeedResponseCache(new ObjectMapper(), feedVersion, meterRegistry, true, 16);
+
+    @Test
+    void hitServesStoredBytesWithoutRebuilding() {
+        AtomicInteger builds = new AtomicInteger();
+        Object body = List.of(Map.of("title", "Markets rally"));
+
+        FeedResponseCache.Entry first = cache.get("20|null|CARD", () -> { builds.incrementAndGet(); return body; }, false);
+        FeedResponseCache.Entry second = cache.get("20|null|CARD", () -> { builds.incrementAndGet(); return body; }, false);
+
+        assertThat(builds).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("feed.response.cache.serialization.bytes.saved").counter().count())
+                .isEqualTo(first.getJson().length);
+    }
+
+    @Test
+    void versionBumpDropsEntries() {
+        AtomicInteger builds = new AtomicInteger();
+        cache.get("20|null|FULL", () -> { builds.incrementAndGet(); return List.of(); }, false);
+
+        feedVersion.bump();
+        cache.get("20|null|FULL", () -> { builds.incrementAndGet(); return List.of(); }, false);
+
+        assertThat(builds).hasValue(2);
+    }
+
+    @Test
+    void gzipVariantInflatesToTheJson() throws IOException {
+        FeedResponseCache.Entry entry = cache.get("50|Positive|CARD",
+                () -> List.of(Map.of("title", "Same headline ".repeat(50))), true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.getGzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(entry.getJson());
+        }
+        assertThat(entry.getGzip().length).isLessThan(entry.getJson().length);
+        assertThat(meterRegistry.get("feed.response.cache.transfer.bytes.saved").counter().count()).isPositive();
+    }
+}
@@ -0,0 +1,31 @@
+package com.sentinova.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The HTTP side (304 answers per endpoint) is covered by ArticleControllerConditionalGetTest.
+ */
+class FeedVersionTest {
+
+    private final FeedVersion feedVersion = new FeedVersion();
+
+    @Test
+    void etagChangesOnEveryBumpAndOnlyThen() {
+        String before = feedVersion.etag();
+        assertThat(feedVersion.etag()).isEqualTo(before).startsWith("\"").endsWith("\"");
+
+        feedVersion.onLatestSentimentChanged(new SentimentWriter.LatestSentimentChanged(UUID.randomUUID(), "Positive", 0.8, null));
+
+        assertThat(feedVersion.etag()).isNotEqualTo(before);
+        assertThat(feedVersion.get()).isEqualTo(1);
+    }
+
+    @Test
+    void encodingVariantsGetDistinctTags() {
+        assertThat(feedVersion.etag("gz")).isNotEqualTo(feedVersion.etag()).endsWith("-gz\"");
+    }
+}
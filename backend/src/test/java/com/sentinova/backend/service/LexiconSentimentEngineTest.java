@@ -0,0 +1,54 @@
+package com.sentinova.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LexiconSentimentEngineTest {
+
+    private final LexiconSentimentEngine engine = new LexiconSentimentEngine("classpath:sentiment/lexicon.tsv");
+
+    @Test
+    void scoresClearHeadlinesConfidently() {
+        LexiconSentimentEngine.LexiconScore positive = engine.score("The team won the championship in a remarkable comeback victory.");
+        assertThat(positive.getLabel()).isEqualTo("Positive");
+        assertThat(positive.getConfidence()).isGreaterThan(0.6);
+
+        LexiconSentimentEngine.LexiconScore negative = engine.score("Shares PLUNGED after the company warned of heavy losses.");
+        assertThat(negative.getLabel()).isEqualTo("Negative");
+        assertThat(negative.getConfidence()).isGreaterThan(0.6);
+    }
+
+    @Test
+    void negationFlipsWithinTheClauseOnly() {
+        assertThat(engine.score("The results were good").getLabel()).isEqualTo("Positive");
+        assertThat(engine.score("The results were not good").getLabel()).isEqualTo("Negative");
+        assertThat(engine.score("Not now, the results were good").getLabel()).isEqualTo("Positive");
+        assertThat(engine.score("Sales didn\u2019t fail").getCompound()).isPositive();
+    }
+
+    @Test
+    void noEvidenceOrMixedEvidenceIsLowConfidence() {
+        LexiconSentimentEngine.LexiconScore none = engine.score("The council will meet on Tuesday to discuss the budget.");
+        assertThat(none.getLabel()).isEqualTo("Neutral");
+        assertThat(none.getConfidence()).isZero();
+
+        LexiconSentimentEngine.LexiconScore mixed = engine.score("A great launch, but a terrible quarter.");
+        assertThat(mixed.getConfidence()).isLessThan(0.2);
+    }
+
+    @Test
+    void tableFindsEveryEntryAndRejectsUnknownWords() {
+        LexiconSentimentEngine.LexiconTable table = new LexiconSentimentEngine.LexiconTable(1000);
+        for (int i = 0; i < 1000; i++) {
+            table.put(LexiconSentimentEngine.hashWord("word" + i), i, LexiconSentimentEngine.VALENCE);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int slot = table.find(LexiconSentimentEngine.hashWord("WORD" + i));
+            assertThat(slot).isNotNegative();
+            assertThat(table.values[slot]).isEqualTo((float) i);
+        }
+        assertThat(table.find(LexiconSentimentEngine.hashWord("missing"))).isNegative();
+        assertThat(table.size()).isEqualTo(1000);
+    }
+}
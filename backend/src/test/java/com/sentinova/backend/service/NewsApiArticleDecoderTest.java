@@ -0,0 +1,173 @@
+package com.sentinova.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class NewsApiArticleDecoderTest {
+
+    private static final String SAMPLE = """
+            {"status":"ok","totalResults":2,"articles":[
+              {"source":{"id":null,"name":"Wire"},"author":"A","title":"First","description":"Desc",
+               "url":"https://news.test/1","urlToImage":"https://img.test/1.jpg",
+               "publishedAt":"2025-01-02T03:04:05Z","content":"Body","tags":[{"name":"ignored"}]},
+              {"source":{"name":null},"title":"Second","url":"https://news.test/2","publishedAt":"not-a-date",
+               "content":null}
+            ]}
+            """;
+
+    private final NewsApiArticleDecoder decoder = new NewsApiArticleDecoder();
+
+    @Test
+    void decodesArticlesFromBlockingStream() throws IOException {
+        List<RemoteArticleDto> out = new ArrayList<>();
+        NewsApiArticleDecoder.ResponseInfo info = decoder.decode(
+                new ByteArrayInputStream(SAMPLE.getBytes(StandardCharsets.UTF_8)), out::add);
+
+        assertThat(info.getStatus()).isEqualTo("ok");
+        assertThat(info.getTotalResults()).isEqualTo(2);
+        assertThat(info.isArticlesFound()).isTrue();
+        assertSample(out);
+    }
+
+    @Test
+    void decodesArticlesSplitAcrossArbitraryChunks() {
+        byte[] bytes = SAMPLE.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += 7) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + 7))));
+        }
+
+        AtomicReference<NewsApiArticleDecoder.ResponseInfo> info = new AtomicReference<>();
+        List<RemoteArticleDto> out = decoder.decode(Flux.fromIterable(chunks), info::set).collectList().block();
+
+        assertThat(info.get().getTotalResults()).isEqualTo(2);
+        assertSample(out);
+    }
+
+    @Test
+    void reportsErrorBodiesWithoutArticles() {
+        byte[] bytes = "{\"status\":\"error\",\"code\":\"apiKeyInvalid\",\"message\":\"bad key\"}".getBytes(StandardCharsets.UTF_8);
+        AtomicReference<NewsApiArticleDecoder.ResponseInfo> info = new AtomicReference<>();
+
+        List<RemoteArticleDto> out = decoder.decode(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes)), info::set)
+                .collectList().block();
+
+        assertThat(out).isEmpty();
+        assertThat(info.get().isArticlesFound()).isFalse();
+        assertThat(info.get().getCode()).isEqualTo("apiKeyInvalid");
+    }
+
+    /**
+     * Allocation benchmark on a large synthetic NewsAPI-shaped response (5,000 articles, ~10 MB):
+     * full JsonNode tree + mapping (the previous NewsFetcher approach) vs. the streaming decoder. Prints bytes allocated by each path.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true") // ~10 MB response; run with -Dbenchmark=true
+    void allocationBenchmark() throws IOException {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        assumeTrue(mx instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) mx;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        byte[] body = largeResponse(5_000);
+        ObjectMapper mapper = new ObjectMapper();
+
+        // warm up both paths
+        for (int i = 0; i < 3; i++) {
+            treeDecode(mapper, body);
+            streamDecode(body);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int treeCount = treeDecode(mapper, body);
+        long treeBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        int streamCount = streamDecode(body);
+        long streamBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        System.out.printf("response=%d bytes, articles=%d: tree=%d bytes allocated, streaming=%d bytes allocated (%.1f%%)%n",
+                body.length, streamCount, treeBytes, streamBytes, 100.0 * streamBytes / treeBytes);
+
+        assertThat(streamCount).isEqualTo(treeCount).isEqualTo(5_000);
+        assertThat(streamBytes).isLessThan(treeBytes);
+    }
+
+    private int treeDecode(ObjectMapper mapper, byte[] body) throws IOException {
+        JsonNode root = mapper.readTree(new ByteArrayInputStream(body));
+        int count = 0;
+        for (JsonNode n : root.path("articles")) {
+            RemoteArticleDto dto = new RemoteArticleDto();
+            dto.setTitle(n.path("title").asText());
+            dto.setUrl(n.path("url").asText());
+            dto.setSource(n.path("source").path("name").asText());
+            dto.setSummary(n.path("description").asText());
+            dto.setContent(n.path("content").asText());
+            dto.setImageUrl(n.path("urlToImage").asText());
+            dto.setPublishedAt(OffsetDateTime.parse(n.path("publishedAt").asText()));
+            if (dto.getTitle() != null) count++;
+        }
+        return count;
+    }
+
+    private int streamDecode(byte[] body) throws IOException {
+        AtomicInteger count = new AtomicInteger();
+        decoder.decode(new ByteArrayInputStream(body), dto -> count.incrementAndGet());
+        return count.get();
+    }
+
+    private static byte[] largeResponse(int articles) {
+        String content = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(30);
+        StringBuilder sb = new StringBuilder("{\"status\":\"ok\",\"totalResults\":").append(articles).append(",\"articles\":[");
+        for (int i = 0; i < articles; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"source\":{\"id\":null,\"name\":\"Source ").append(i % 40).append("\"},")
+                    .append("\"author\":\"Author ").append(i).append("\",")
+                    .append("\"title\":\"Headline number ").append(i).append("\",")
+                    .append("\"description\":\"Description for article ").append(i).append("\",")
+                    .append("\"url\":\"https://news.test/articles/").append(i).append("\",")
+                    .append("\"urlToImage\":\"https://img.test/").append(i).append(".jpg\",")
+                    .append("\"publishedAt\":\"2025-01-02T03:04:05Z\",")
+                    .append("\"content\":\"").append(content).append("\"}");
+        }
+        return sb.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void assertSample(List<RemoteArticleDto> out) {
+        assertThat(out).hasSize(2);
+
+        RemoteArticleDto first = out.get(0);
+        assertThat(first.getTitle()).isEqualTo("First");
+        assertThat(first.getSource()).isEqualTo("Wire");
+        assertThat(first.getSummary()).isEqualTo("Desc");
+        assertThat(first.getUrl()).isEqualTo("https://news.test/1");
+        assertThat(first.getImageUrl()).isEqualTo("https://img.test/1.jpg");
+        assertThat(first.getContent()).isEqualTo("Body");
+        assertThat(first.getPublishedAt()).isNotNull();
+
+        RemoteArticleDto second = out.get(1);
+        assertThat(second.getTitle()).isEqualTo("Second");
+        assertThat(second.getSource()).isNull();
+        assertThat(second.getPublishedAt()).isNull();
+        assertThat(second.getContent()).isNull();
+    }
+}
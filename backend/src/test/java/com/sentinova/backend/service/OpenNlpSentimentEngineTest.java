@@ -0,0 +1,76 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenNlpSentimentEngineTest {
+
+    private static final String TRAINING = """
+            # label<TAB>text
+            Positive\tgreat win for the team, fans celebrate the victory
+            Positive\tprofits surge as the company celebrates a record year
+            Positive\tcommunity praises the wonderful new park
+            Negative\tstorm destroys homes and leaves thousands without power
+            Negative\tshares plunge after heavy losses and layoffs
+            Negative\tscandal and fraud charges shock investors
+            Neutral\tcouncil meets on tuesday to discuss the budget
+            Neutral\tairline updates its baggage policy
+            Neutral\tmuseum opens a new wing next month
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void trainsSavesAndReloadsModel() throws Exception {
+        Path training = dir.resolve("train.tsv");
+        Files.writeString(training, TRAINING);
+        Path model = dir.resolve("model.bin");
+
+        OpenNlpSentimentEngine trained = new OpenNlpSentimentEngine(model.toString(), training.toUri().toString(), 100, 1, 15);
+        assertThatThrownBy(() -> trained.analyze("anything")).isInstanceOf(SentimentNotReadyException.class);
+
+        trained.warmUp();
+        assertThat(trained.getModelState()).isEqualTo(SentimentEngine.ModelState.READY);
+        assertThat(model).exists();
+
+        SentimentResult positive = trained.analyze("Fans celebrate a great victory");
+        assertThat(positive.getLabel()).isEqualTo("Positive");
+        assertThat(positive.getScore()).isGreaterThan(0.5);
+        assertThat(trained.analyze("Shares plunge on heavy losses").getLabel()).isEqualTo("Negative");
+
+        // second engine loads the saved model instead of training
+        OpenNlpSentimentEngine reloaded = new OpenNlpSentimentEngine(model.toString(), "classpath:does-not-exist.tsv", 100, 1, 15);
+        reloaded.warmUp();
+        assertThat(reloaded.analyze("Fans celebrate a great victory").getLabel()).isEqualTo("Positive");
+    }
+
+    @Test
+    void categorizesConcurrentlyWithPerThreadCategorizers() throws Exception {
+        Path training = dir.resolve("train.tsv");
+        Files.writeString(training, TRAINING);
+        OpenNlpSentimentEngine engine = new OpenNlpSentimentEngine(dir.resolve("m.bin").toString(), training.toUri().toString(), 100, 1, 15);
+        engine.warmUp();
+        String expected = engine.analyze("profits surge in a record year").getLabel();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = pool.invokeAll(java.util.Collections.nCopies(200,
+                    () -> engine.analyze("profits surge in a record year").getLabel()));
+            for (Future<String> f : futures) assertThat(f.get()).isEqualTo(expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.RecentArticlesFeed.FeedArticle;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecentArticlesFeedTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+
+    @Test
+    void servesNewestFirstWithNullFetchedAtLast() {
+        RecentArticlesFeed feed = loaded(10, List.of(article(1, null), article(2, T0), article(3, T0.plusMinutes(1))));
+
+        assertThat(feed.recent(10, null)).extracting(FeedArticle::title).containsExactly("a3", "a2", "a1");
+        assertThat(feed.recent(2, null)).extracting(FeedArticle::title).containsExactly("a3", "a2");
+    }
+
+    @Test
+    void pollResultsEnterTheFeedAndOldestFallOffAtCapacity() {
+        RecentArticlesFeed feed = loaded(2, List.of(article(1, T0), article(2, T0.plusMinutes(1))));
+
+        feed.applyPoll(List.of(article(3, T0.plusMinutes(2))), List.of(), T0.plusMinutes(2));
+
+        assertThat(feed.size()).isEqualTo(2);
+        assertThat(feed.recent(2, null)).extracting(FeedArticle::title).containsExactly("a3", "a2");
+    }
+
+    @Test
+    void filteredReadFallsBackWhenOlderMatchesMayExistBeyondTheSnapshot() {
+        Article positive = article(1, T0);
+        positive.setSentimentLabel("Positive");
+        // three rows for capacity two: snapshot is incomplete from the start
+        when(articleRepository.findRecent(anyInt())).thenReturn(List.of(article(3, T0.plusMinutes(2)), article(2, T0.plusMinutes(1)), positive));
+        RecentArticlesFeed feed = new RecentArticlesFeed(articleRepository, true, 2);
+        feed.load();
+
+        assertThat(feed.recent(1, "Positive")).isNull();
+        assertThat(feed.recent(2, null)).hasSize(2);
+    }
+
+    @Test
+    void completeSnapshotAnswersFilteredReadsEvenWithFewMatches() {
+        Article negative = article(1, T0);
+        negative.setSentimentLabel("Negative");
+        RecentArticlesFeed feed = loaded(10, List.of(negative, article(2, T0.plusMinutes(1))));
+
+        assertThat(feed.recent(5, "Negative")).extracting(FeedArticle::title).containsExactly("a1");
+        assertThat(feed.recent(5, "Positive")).isEmpty();
+    }
+
+    @Test
+    void sentimentChangesAndLastSeenTouchesUpdateTheSnapshotInPlace() {
+        Article a = article(1, T0);
+        RecentArticlesFeed feed = loaded(10, List.of(a));
+        List<FeedArticle> before = feed.recent(1, null);
+
+        feed.onLatestSentimentChanged(new SentimentWriter.LatestSentimentChanged(a.getId(), "Positive", 0.9, T0.plusMinutes(5)));
+        feed.applyPoll(List.of(), List.of(a.getId()), T0.plusMinutes(6));
+
+        FeedArticle now = feed.recent(1, "Positive").get(0);
+        assertThat(now.sentimentScore()).isEqualTo(0.9);
+        assertThat(now.lastSeenAt()).isEqualTo(T0.plusMinutes(6));
+        // readers holding the old snapshot keep seeing it unchanged
+        assertThat(before.get(0).sentimentLabel()).isNull();
+    }
+
+    @Test
+    void reloadPicksUpRowsRewrittenByBulkSql() {
+        Article a = article(1, T0);
+        RecentArticlesFeed feed = loaded(10, List.of(a));
+        Article repaired = article(1, T0);
+        repaired.setSentimentLabel("Negative");
+        repaired.setSentimentScore(0.2);
+        when(articleRepository.findRecent(anyInt())).thenReturn(new ArrayList<>(List.of(repaired)));
+
+        feed.reload();
+
+        assertThat(feed.recent(1, "Negative")).extracting(FeedArticle::id).containsExactly(a.getId());
+    }
+
+    @Test
+    void startupLoadDoesNotOverwriteAnEarlierReload() {
+        Article repaired = article(1, T0);
+        repaired.setSentimentLabel("Negative");
+        when(articleRepository.findRecent(anyInt())).thenReturn(new ArrayList<>(List.of(repaired)));
+        RecentArticlesFeed feed = new RecentArticlesFeed(articleRepository, true, 10);
+        feed.reload(); // repair finished before the feed's own startup load
+
+        when(articleRepository.findRecent(anyInt())).thenReturn(new ArrayList<>(List.of(article(1, T0))));
+        feed.load(); // read before the repair committed
+
+        assertThat(feed.recent(1, null).get(0).sentimentLabel()).isEqualTo("Negative");
+    }
+
+    @Test
+    void feedVersionMovesOnlyAfterTheSnapshotHasTheChange() {
+        Article a = article(1, T0);
+        RecentArticlesFeed feed = loaded(10, List.of(a));
+        List<String> labelsAtBump = new ArrayList<>();
+        FeedVersion feedVersion = new FeedVersion() {
+            @Override
+            public void bump() {
+                labelsAtBump.add(feed.recent(1, null).get(0).sentimentLabel());
+                super.bump();
+            }
+        };
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(TransactionalEventListenerFactory.class);
+            context.registerBean(FeedVersion.class, () -> feedVersion); // registered first on purpose
+            context.registerBean(RecentArticlesFeed.class, () -> feed);
+            context.refresh();
+
+            context.publishEvent(new SentimentWriter.LatestSentimentChanged(a.getId(), "Positive", 0.9, T0.plusMinutes(5)));
+        }
+
+        assertThat(labelsAtBump).containsExactly("Positive");
+    }
+
+    @Test
+    void disabledOrNotYetLoadedFeedDefersToTheDatabase() {
+        assertThat(new RecentArticlesFeed(articleRepository, true, 10).recent(5, null)).isNull();
+        assertThat(new RecentArticlesFeed(articleRepository, false, 10).recent(5, null)).isNull();
+    }
+
+    private RecentArticlesFeed loaded(int capacity, List<Article> rows) {
+        when(articleRepository.findRecent(anyInt())).thenReturn(new ArrayList<>(rows));
+        RecentArticlesFeed feed = new RecentArticlesFeed(articleRepository, true, capacity);
+        feed.load();
+        return feed;
+    }
+
+    private static Article article(int n, OffsetDateTime fetchedAt) {
+        Article a = new Article(new UUID(0L, n), "a" + n, "https://news.test/" + n);
+        a.setFetchedAt(fetchedAt);
+        return a;
+    }
+}
@@ -0,0 +1,100 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.Sentiment;
+import com.sentinova.backend.service.SentimentAnalysisQueue.OverflowPolicy;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SentimentAnalysisQueueTest {
+
+    private final SentimentWriter sentimentWriter = mock(SentimentWriter.class);
+    private final SentimentService sentimentService = mock(SentimentService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SentimentAnalysisQueue queue;
+
+    SentimentAnalysisQueueTest() {
+        when(sentimentService.analyzeText(anyString())).thenAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS); // a slow CoreNLP parse
+            return new SentimentResult("Very positive", 0.9);
+        });
+        when(sentimentWriter.record(any(UUID.class), anyString(), any(), anyBoolean())).thenReturn(Optional.of(new Sentiment()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (queue != null) queue.shutdown();
+    }
+
+    @Test
+    void submitReturnsAtOnceAndWorkersRecordCanonicalLabels() {
+        queue = new SentimentAnalysisQueue(sentimentWriter, sentimentService, 2, 10, OverflowPolicy.DROP_NEWEST);
+        Article a = article(1);
+
+        long t0 = System.nanoTime();
+        queue.submit(a);
+        queue.submit(article(2));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0)).isLessThan(1000); // parses still blocked
+
+        release.countDown();
+        await().atMost(2, TimeUnit.SECONDS).until(() -> queue.getCompletedCount() == 2);
+        verify(sentimentWriter).record(a.getId(), "Positive", 0.9, false);
+    }
+
+    @Test
+    void dropNewestDiscardsArticlesBeyondTheQueueCapacity() {
+        queue = new SentimentAnalysisQueue(sentimentWriter, sentimentService, 1, 1, OverflowPolicy.DROP_NEWEST);
+
+        queue.submit(article(1)); // taken by the only worker, which blocks
+        await().atMost(2, TimeUnit.SECONDS).until(() -> queue.getQueueDepth() == 0);
+        queue.submit(article(2)); // queued
+        queue.submit(article(3)); // queue full: dropped
+
+        assertThat(queue.getDroppedCount()).isEqualTo(1);
+        release.countDown();
+        await().atMost(2, TimeUnit.SECONDS).until(() -> queue.getCompletedCount() == 2);
+        verify(sentimentWriter, never()).record(eq(article(3).getId()), anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestArticleQueued() {
+        queue = new SentimentAnalysisQueue(sentimentWriter, sentimentService, 1, 1, OverflowPolicy.DROP_OLDEST);
+
+        queue.submit(article(1));
+        await().atMost(2, TimeUnit.SECONDS).until(() -> queue.getQueueDepth() == 0);
+        queue.submit(article(2));
+        queue.submit(article(3)); // evicts 2
+
+        assertThat(queue.getDroppedCount()).isEqualTo(1);
+        release.countDown();
+        await().atMost(2, TimeUnit.SECONDS).until(() -> queue.getCompletedCount() == 2);
+        verify(sentimentWriter).record(eq(article(3).getId()), anyString(), any(), anyBoolean());
+        verify(sentimentWriter, never()).record(eq(article(2).getId()), anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    void normalizesLabelVariantsToTheStoredForm() {
+        assertThat(SentimentAnalysisQueue.normalizeLabel("Very positive")).isEqualTo("Positive");
+        assertThat(SentimentAnalysisQueue.normalizeLabel("NEGATIVE")).isEqualTo("Negative");
+        assertThat(SentimentAnalysisQueue.normalizeLabel("meh")).isEqualTo("Neutral");
+        assertThat(SentimentAnalysisQueue.normalizeLabel(null)).isEqualTo("Neutral");
+    }
+
+    private static Article article(int n) {
+        return new Article(new UUID(0L, n), "Headline " + n, "https://news.test/" + n);
+    }
+}
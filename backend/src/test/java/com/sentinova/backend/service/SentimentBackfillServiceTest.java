@@ -0,0 +1,112 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.model.BackfillCheckpoint;
+import com.sentinova.backend.model.BackfillCheckpoint.State;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.repository.BackfillCheckpointRepository;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SentimentBackfillServiceTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final BackfillCheckpointRepository checkpointRepository = mock(BackfillCheckpointRepository.class);
+    private final SentimentService sentimentService = mock(SentimentService.class);
+    private final SentimentWriter sentimentWriter = mock(SentimentWriter.class);
+    private final SentimentBackfillService backfill = new SentimentBackfillService(articleRepository, checkpointRepository,
+            sentimentService, sentimentWriter, mock(SentimentAnalysisQueue.class), mock(PlatformTransactionManager.class));
+
+    private final List<Article> corpus = List.of(article(1), article(2), article(3), article(4), article(5));
+    private final List<UUID> queriedAfter = new ArrayList<>();
+    private volatile BackfillCheckpoint stored; // the checkpoint row
+
+    SentimentBackfillServiceTest() {
+        ReflectionTestUtils.setField(backfill, "chunkSize", 2);
+        ReflectionTestUtils.setField(backfill, "pauseMs", 0L);
+        ReflectionTestUtils.setField(backfill, "maxPerSecond", 0.0);
+        ReflectionTestUtils.setField(backfill, "resumeOnStartup", true);
+
+        when(checkpointRepository.findById(SentimentBackfillService.JOB_NAME)).thenAnswer(inv -> Optional.ofNullable(stored));
+        when(checkpointRepository.save(any(BackfillCheckpoint.class))).thenAnswer(inv -> stored = inv.getArgument(0));
+        when(articleRepository.findByIdGreaterThanOrderByIdAsc(any(), any())).thenAnswer(inv -> {
+            UUID after = inv.getArgument(0);
+            Pageable page = inv.getArgument(1);
+            queriedAfter.add(after);
+            return corpus.stream().filter(a -> a.getId().compareTo(after) > 0).limit(page.getPageSize()).toList();
+        });
+        when(sentimentService.getPipelineSignature()).thenReturn("corenlp:v2");
+        when(sentimentService.analyzeAll(anyList())).thenAnswer(inv -> {
+            List<String> texts = inv.getArgument(0);
+            return texts.stream().map(t -> new SentimentResult("Negative", 0.2)).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfill.shutdown();
+    }
+
+    @Test
+    void walksTheCorpusInKeysetChunksAndCompletes() {
+        assertThat(backfill.start(false)).isTrue();
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> stored.getState() == State.COMPLETED);
+        assertThat(stored.getProcessed()).isEqualTo(5);
+        assertThat(stored.getLastArticleId()).isEqualTo(corpus.get(4).getId());
+        assertThat(queriedAfter).containsExactly(new UUID(0L, 0L), corpus.get(1).getId(), corpus.get(3).getId(),
+                corpus.get(4).getId());
+        verify(sentimentWriter, times(3)).recordAll(anyList());
+    }
+
+    @Test
+    void runLeftRunningResumesAfterTheLastCommittedChunk() {
+        stored = new BackfillCheckpoint(SentimentBackfillService.JOB_NAME);
+        stored.setState(State.RUNNING);
+        stored.setLastArticleId(corpus.get(2).getId());
+        stored.setProcessed(3);
+
+        backfill.resumeIfInterrupted();
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> stored.getState() == State.COMPLETED);
+        assertThat(queriedAfter.get(0)).isEqualTo(corpus.get(2).getId());
+        assertThat(stored.getProcessed()).isEqualTo(5);
+    }
+
+    @Test
+    void oneBadDocumentIsSkippedAndCountedWithoutStallingTheRun() {
+        when(sentimentService.analyzeAll(anyList())).thenThrow(new IllegalStateException("parse failed"));
+        when(sentimentService.analyzeText(anyString())).thenAnswer(inv -> {
+            String text = inv.getArgument(0);
+            if (text.startsWith("Headline 2")) throw new IllegalStateException("parse failed");
+            return new SentimentResult("Positive", 0.7);
+        });
+
+        backfill.start(true);
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> stored.getState() == State.COMPLETED);
+        assertThat(stored.getProcessed()).isEqualTo(4);
+        assertThat(stored.getFailed()).isEqualTo(1);
+    }
+
+    private static Article article(int n) {
+        return new Article(new UUID(0L, n), "Headline " + n, "https://news.test/" + n);
+    }
+}
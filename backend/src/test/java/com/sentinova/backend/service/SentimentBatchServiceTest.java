@@ -0,0 +1,69 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.SentimentBatchService.BatchItemResult;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SentimentBatchServiceTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final SentimentService sentimentService = mock(SentimentService.class);
+    private final SentimentWriter sentimentWriter = mock(SentimentWriter.class);
+    private final SentimentBatchService batchService = new SentimentBatchService(articleRepository, sentimentService, sentimentWriter);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamsOneResultPerItemAndWritesInBatches() {
+        ReflectionTestUtils.setField(batchService, "loadChunkSize", 100);
+        ReflectionTestUtils.setField(batchService, "writeBatchSize", 100);
+        ReflectionTestUtils.setField(batchService, "writeMaxDelayMs", 5_000L);
+
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Article a = new Article();
+            a.setId(UUID.randomUUID());
+            a.setTitle("Title " + i);
+            articles.add(a);
+        }
+        UUID missing = UUID.randomUUID();
+        List<UUID> ids = new ArrayList<>(articles.stream().map(Article::getId).toList());
+        ids.add(missing);
+
+        when(articleRepository.findAllById(anyCollection())).thenAnswer(inv -> {
+            Collection<UUID> requested = inv.getArgument(0);
+            return articles.stream().filter(a -> requested.contains(a.getId())).toList();
+        });
+        when(sentimentService.analyzeText(anyString())).thenReturn(new SentimentResult("Positive", 0.75));
+
+        List<BatchItemResult> results = batchService.analyze(ids, List.of("free text"), true, 4)
+                .collectList().block();
+
+        assertThat(results).hasSize(5);
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        for (int i = 0; i < 3; i++) {
+            assertThat(results.get(i).getArticleId()).isEqualTo(articles.get(i).getId());
+            assertThat(results.get(i).getLabel()).isEqualTo("Positive");
+            assertThat(results.get(i).getSaved()).isTrue();
+        }
+        assertThat(results.get(3).getError()).isEqualTo("article not found");
+        assertThat(results.get(4).getLabel()).isEqualTo("Positive");
+        assertThat(results.get(4).getSaved()).isNull();
+
+        verify(articleRepository, times(1)).findAllById(anyCollection());
+        verify(sentimentWriter, times(1)).recordAll(argThat(list -> list.size() == 3));
+        verify(sentimentService, times(4)).analyzeText(anyString());
+    }
+}
@@ -0,0 +1,124 @@
+package com.sentinova.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Side-by-side CoreNLP vs. OpenNLP vs. lexicon on the bundled labeled sample: retained heap after loading,
+ * single-thread latency percentiles, multi-thread throughput and accuracy. Run with -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SentimentEngineComparisonBenchmarkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareEngines() throws Exception {
+        List<String[]> sample = sample();
+        List<String> texts = sample.stream().map(r -> r[1]).toList();
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        long heap0 = usedHeap();
+        LexiconSentimentEngine lexicon = new LexiconSentimentEngine("classpath:sentiment/lexicon.tsv");
+        long heapLexicon = usedHeap();
+
+        OpenNlpSentimentEngine openNlp = new OpenNlpSentimentEngine(dir.resolve("doccat.bin").toString(),
+                "classpath:sentiment/labeled-sample.tsv", 100, 1, 15);
+        openNlp.warmUp();
+        long heapOpenNlp = usedHeap();
+
+        CoreNlpSentimentEngine coreNlp = new CoreNlpSentimentEngine(new SimpleMeterRegistry(), lexicon, threads, 1000, 15, 12, 60, 0);
+        coreNlp.warmUp();
+        long heapCoreNlp = usedHeap();
+
+        report("lexicon", lexicon, sample, texts, threads, heapLexicon - heap0);
+        report("opennlp", openNlp, sample, texts, threads, heapOpenNlp - heapLexicon);
+        report("corenlp", coreNlp, sample, texts, threads, heapCoreNlp - heapOpenNlp);
+        coreNlp.shutdown();
+    }
+
+    private static void report(String name, SentimentEngine engine, List<String[]> sample, List<String> texts,
+                               int threads, long heapBytes) throws Exception {
+        for (String t : texts) engine.analyze(t); // warm-up
+
+        int rounds = 5;
+        long[] latencies = new long[texts.size() * rounds];
+        int correct = 0, k = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < texts.size(); i++) {
+                long start = System.nanoTime();
+                String label = engine.analyze(texts.get(i)).getLabel();
+                latencies[k++] = System.nanoTime() - start;
+                if (r == 0 && label.equalsIgnoreCase(sample.get(i)[0])) correct++;
+            }
+        }
+        Arrays.sort(latencies);
+
+        int docs = texts.size() * 20;
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < docs) engine.analyze(texts.get(i % texts.size()));
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        double docsPerSec = docs / ((System.nanoTime() - start) / 1e9);
+        pool.shutdown();
+
+        System.out.printf("%-8s heap=%6.1f MB  p50=%8.3f ms  p95=%8.3f ms  p99=%8.3f ms  throughput(%d threads)=%10.1f docs/s  accuracy=%.2f%n",
+                name, heapBytes / 1048576.0, pct(latencies, 50), pct(latencies, 95), pct(latencies, 99),
+                threads, docsPerSec, (double) correct / texts.size());
+        assertThat(docsPerSec).isPositive();
+    }
+
+    private static double pct(long[] sorted, int p) {
+        int idx = Math.min(sorted.length - 1, (int) Math.ceil(p / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1e6;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static List<String[]> sample() throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Objects.requireNonNull(SentimentEngineComparisonBenchmarkTest.class.getResourceAsStream("/sentiment/labeled-sample.tsv")),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                int tab = line.indexOf('\t');
+                rows.add(new String[]{line.substring(0, tab), line.substring(tab + 1)});
+            }
+        }
+        return rows;
+    }
+}
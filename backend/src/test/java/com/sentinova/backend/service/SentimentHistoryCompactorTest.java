@@ -0,0 +1,62 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.repository.SentimentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class SentimentHistoryCompactorTest {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final SentimentRepository sentimentRepository = mock(SentimentRepository.class);
+    private final SentimentHistoryCompactor compactor = new SentimentHistoryCompactor(sentimentRepository,
+            mock(PlatformTransactionManager.class));
+
+    SentimentHistoryCompactorTest() {
+        ReflectionTestUtils.setField(compactor, "batchSize", 2);
+        ReflectionTestUtils.setField(compactor, "pauseMs", 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        compactor.shutdown();
+    }
+
+    @Test
+    void walksArticleBatchesInKeysetOrderAndCountsDeletedRows() {
+        UUID a = new UUID(0L, 1L);
+        UUID b = new UUID(0L, 2L);
+        UUID c = new UUID(0L, 3L);
+        when(sentimentRepository.findArticleIdsAfter(MIN_UUID, 2)).thenReturn(List.of(a, b));
+        when(sentimentRepository.findArticleIdsAfter(b, 2)).thenReturn(List.of(c));
+        when(sentimentRepository.findArticleIdsAfter(c, 2)).thenReturn(List.of());
+        when(sentimentRepository.deleteConsecutiveDuplicates(List.of(a, b))).thenReturn(5);
+        when(sentimentRepository.deleteConsecutiveDuplicates(List.of(c))).thenReturn(0);
+
+        long deleted = compactor.compact();
+
+        assertThat(deleted).isEqualTo(5);
+        verify(sentimentRepository, times(3)).findArticleIdsAfter(any(), anyInt());
+    }
+
+    @Test
+    void aFailingBatchStopsTheRunAndKeepsWhatWasDeleted() {
+        UUID a = new UUID(0L, 1L);
+        UUID b = new UUID(0L, 2L);
+        when(sentimentRepository.findArticleIdsAfter(any(), anyInt())).thenReturn(List.of(a), List.of(b));
+        when(sentimentRepository.deleteConsecutiveDuplicates(List.of(a))).thenReturn(3);
+        when(sentimentRepository.deleteConsecutiveDuplicates(List.of(b))).thenThrow(new IllegalStateException("lock timeout"));
+
+        assertThat(compactor.compact()).isEqualTo(3);
+    }
+}
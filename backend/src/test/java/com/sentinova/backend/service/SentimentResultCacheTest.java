@@ -0,0 +1,43 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.repository.SentimentCacheRepository;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class SentimentResultCacheTest {
+
+    private final SentimentCacheRepository repository = mock(SentimentCacheRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SentimentResultCache cache = new SentimentResultCache(repository, registry, 100, Duration.ofHours(1), false);
+
+    @Test
+    void keyIgnoresWhitespaceButNotCaseOrPipeline() {
+        String key = SentimentResultCache.key("p1", "Stocks rally.  Markets\n cheer ");
+        assertThat(SentimentResultCache.key("p1", " Stocks rally. Markets cheer")).isEqualTo(key);
+        assertThat(SentimentResultCache.key("p1", "stocks rally. markets cheer")).isNotEqualTo(key);
+        assertThat(SentimentResultCache.key("p2", "Stocks rally. Markets cheer")).isNotEqualTo(key);
+    }
+
+    @Test
+    void servesRepeatLookupsFromMemoryAndRecordsStats() {
+        String key = SentimentResultCache.key("p1", "Good news");
+        assertThat(cache.get(key)).isNull();
+
+        SentimentResult result = new SentimentResult("Positive", 0.75);
+        cache.put(key, result);
+
+        assertThat(cache.get(key)).isSameAs(result);
+        assertThat(registry.get("cache.gets").tag("cache", "sentiment.results").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "sentiment.results").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1.0);
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,146 @@
+package com.sentinova.backend.service;
+
+import com.sentinova.backend.model.Article;
+import com.sentinova.backend.repository.ArticleRepository;
+import com.sentinova.backend.service.SentimentService.SentimentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SentimentStaleRescorerTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final SentimentService sentimentService = mock(SentimentService.class);
+    private final SentimentWriter sentimentWriter = mock(SentimentWriter.class);
+    private final SentimentAnalysisQueue liveQueue = mock(SentimentAnalysisQueue.class);
+    private final SentimentBackfillService backfillService = mock(SentimentBackfillService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SentimentStaleRescorer rescorer = new SentimentStaleRescorer(articleRepository, sentimentService,
+            sentimentWriter, liveQueue, backfillService, mock(PlatformTransactionManager.class), meterRegistry);
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    SentimentStaleRescorerTest() {
+        ReflectionTestUtils.setField(rescorer, "enabled", true);
+        ReflectionTestUtils.setField(rescorer, "batchSize", 2);
+        ReflectionTestUtils.setField(rescorer, "maxPerRun", 5);
+        ReflectionTestUtils.setField(rescorer, "pauseMs", 0L);
+        when(sentimentService.isReady()).thenReturn(true);
+        when(sentimentService.getPipelineSignature()).thenReturn("corenlp:v2");
+        when(sentimentService.analyzeAll(anyList())).thenAnswer(inv -> {
+            List<String> texts = inv.getArgument(0);
+            return texts.stream().map(t -> new SentimentResult("Positive", 0.8)).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        rescorer.shutdown();
+        if (scheduler != null) scheduler.shutdown();
+    }
+
+    @Test
+    void rescoresOnlyWhatTheStaleQueryReturnsWithCanonicalLabels() {
+        Article stale = article(1);
+        when(articleRepository.findStaleSentimentAfter(any(), eq("corenlp:v2"), anyInt())).thenReturn(List.of(stale), List.of());
+
+        long done = rescorer.rescoreStale();
+
+        assertThat(done).isEqualTo(1);
+        verify(articleRepository).findStaleSentimentAfter(new UUID(0L, 0L), "corenlp:v2", 2);
+        verify(sentimentWriter).recordAll(argThat(pending -> pending.size() == 1
+                && pending.get(0).getArticle() == stale && pending.get(0).getLabel().equals("Positive")));
+        assertThat(meterRegistry.get("sentiment.rescore.articles").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void budgetFallbackResultsAreRecordedAsDegraded() {
+        Article slow = article(1);
+        when(articleRepository.findStaleSentimentAfter(any(), any(), anyInt())).thenReturn(List.of(slow), List.of());
+        when(sentimentService.analyzeAll(anyList())).thenReturn(List.of(new SentimentResult("Negative", 0.3, true)));
+
+        rescorer.rescoreStale();
+
+        verify(sentimentWriter).recordAll(argThat(pending -> pending.size() == 1 && pending.get(0).isDegraded()));
+    }
+
+    @Test
+    void walksBatchesInKeysetOrderAndStopsAtTheCapPerRun() {
+        List<UUID> afters = new ArrayList<>();
+        List<Integer> limits = new ArrayList<>();
+        int[] next = {0};
+        when(articleRepository.findStaleSentimentAfter(any(), any(), anyInt())).thenAnswer(inv -> {
+            afters.add(inv.getArgument(0));
+            int limit = inv.getArgument(2);
+            limits.add(limit);
+            List<Article> batch = new ArrayList<>();
+            for (int i = 0; i < limit; i++) batch.add(article(++next[0])); // more stale rows than the cap
+            return batch;
+        });
+
+        long done = rescorer.rescoreStale();
+
+        assertThat(done).isEqualTo(5); // maxPerRun
+        assertThat(limits).containsExactly(2, 2, 1); // batch size, trimmed to the cap
+        assertThat(afters).containsExactly(new UUID(0L, 0L), new UUID(0L, 2L), new UUID(0L, 4L));
+        verify(sentimentWriter, times(3)).recordAll(anyList());
+    }
+
+    @Test
+    void backsOffForLivePollResultsAndSkipsDuringABackfill() {
+        when(liveQueue.getQueueDepth()).thenReturn(3);
+        assertThat(rescorer.rescoreStale()).isZero();
+        verifyNoInteractions(articleRepository);
+
+        when(backfillService.isActive()).thenReturn(true);
+        rescorer.scheduledRun();
+        assertThat(rescorer.isRunning()).isFalse();
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void pollingKeepsRunningWhileARescoreIsInProgress() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(articleRepository.findStaleSentimentAfter(any(), any(), anyInt())).thenAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS); // a long re-score batch
+            return List.of();
+        });
+        scheduler = new ThreadPoolTaskScheduler(); // pool size 1, like Spring's default scheduler
+        scheduler.initialize();
+        AtomicInteger polls = new AtomicInteger();
+
+        scheduler.execute(rescorer::scheduledRun);
+        scheduler.scheduleWithFixedDelay(polls::incrementAndGet, Duration.ofMillis(10));
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> polls.get() >= 3);
+        assertThat(rescorer.isRunning()).isTrue();
+
+        rescorer.scheduledRun(); // still busy: skipped, not queued behind the running one
+        release.countDown();
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !rescorer.isRunning());
+        verify(articleRepository, times(1)).findStaleSentimentAfter(any(), any(), anyInt());
+    }
+
+    private static Article article(int n) {
+        return new Article(new UUID(0L, n), "Headline " + n, "https://news.test/" + n);
+    }
+}
@@ -148,7 +148,7 @@ export function NewsCarousel() {
 
   const fetchRecent = useCallback(async () => {
     try {
-      const res = await fetch(`${BACKEND_BASE}/api/articles/recent/${FETCH_COUNT}`, {
+      const res = await fetch(`${BACKEND_BASE}/api/articles/recent/${FETCH_COUNT}?fields=card`, {
         headers: { Accept: "application/json" },
         mode: "cors",
       })
@@ -171,9 +171,24 @@ export function NewsCarousel() {
 
   useEffect(() => {
     fetchRecent()
-    pollRef.current = window.setInterval(fetchRecent, POLL_MS)
+    // refetch (ETag-cached on the server) when the live stream reports changes; timer polling only without EventSource
+    if (typeof EventSource === "undefined") {
+      pollRef.current = window.setInterval(fetchRecent, POLL_MS)
+      return () => {
+        if (pollRef.current) clearInterval(pollRef.current)
+      }
+    }
+
+    const stream = new EventSource(`${BACKEND_BASE}/api/articles/stream`)
+    const refetchSoon = () => {
+      // one refetch per burst of events (a poll publishes several articles at once)
+      if (pollRef.current) clearTimeout(pollRef.current)
+      pollRef.current = window.setTimeout(fetchRecent, 500)
+    }
+    for (const name of ["article", "sentiment", "reset"]) stream.addEventListener(name, refetchSoon)
     return () => {
-      if (pollRef.current) clearInterval(pollRef.current)
+      stream.close()
+      if (pollRef.current) clearTimeout(pollRef.current)
     }
   }, [fetchRecent])
 
@@ -144,7 +144,7 @@ export function NewsFeed({ searchQuery, selectedCategory, selectedSentiment }: N
 
   const fetchArticlesFromBackend = useCallback(async () => {
     try {
-      const resp = await fetch(`${BACKEND_BASE}/api/articles/recent/${FETCH_COUNT}`, {
+      const resp = await fetch(`${BACKEND_BASE}/api/articles/recent/${FETCH_COUNT}?fields=card`, {
         headers: { Accept: "application/json" },
         mode: "cors",
       })
@@ -173,14 +173,39 @@ export function NewsFeed({ searchQuery, selectedCategory, selectedSentiment }: N
     }
     doInitial()
 
-    const id = window.setInterval(() => {
+    // live updates over SSE (the browser reconnects with Last-Event-ID); timer polling only without EventSource
+    if (typeof EventSource === "undefined") {
+      pollRef.current = window.setInterval(() => {
+        fetchArticlesFromBackend()
+      }, POLL_INTERVAL_MS)
+      return () => {
+        mountedRef.current = false
+        if (pollRef.current) clearInterval(pollRef.current)
+      }
+    }
+
+    const stream = new EventSource(`${BACKEND_BASE}/api/articles/stream`)
+    stream.addEventListener("article", (e) => {
+      mergeArticles([JSON.parse((e as MessageEvent).data) as BackendArticle])
+    })
+    stream.addEventListener("sentiment", (e) => {
+      const ev = JSON.parse((e as MessageEvent).data) as { articleId: string; label?: string; score?: number }
+      setAllArticles((prev) =>
+        prev.map((a) =>
+          a.id === String(ev.articleId)
+            ? { ...a, sentiment: normalizeLabel(ev.label, ev.score), sentimentScore: ev.score ?? 0 }
+            : a,
+        ),
+      )
+    })
+    // history gap the server cannot replay: reload the list
+    stream.addEventListener("reset", () => {
       fetchArticlesFromBackend()
-    }, POLL_INTERVAL_MS)
-    pollRef.current = id
+    })
 
     return () => {
       mountedRef.current = false
-      if (pollRef.current) clearInterval(pollRef.current)
+      stream.close()
     }
   }, [fetchArticlesFromBackend])
 